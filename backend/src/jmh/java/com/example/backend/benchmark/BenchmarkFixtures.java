@@ -0,0 +1,106 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.dto.SpecialCollectionDTOs.GeoLocation;
+import com.example.backend.dto.SpecialCollectionDTOs.ScheduleRequest;
+import com.example.backend.model.SpecialCollection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Representative documents and requests shared by the benchmark suites, shaped like what the frontend sends
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Waste waste() {
+        Waste waste = new Waste();
+        waste.setId(new ObjectId("65f1c2a4e4b0a1b2c3d4e5f6"));
+        waste.setUserId("65f1c2a4e4b0a1b2c3d4e5f7");
+        waste.setFullName("Nimal Perera");
+        waste.setPhoneNumber("+94771234567");
+        waste.setEmail("nimal.perera@example.com");
+        waste.setSubmissionDate(LocalDateTime.of(2025, 3, 14, 9, 30));
+        waste.setSubmissionMethod("Home Pickup");
+        waste.setPickup(new Waste.PickupDetails(true, "2025-03-16", "Morning", "12 Temple Road", "Colombo", "00300"));
+        waste.setItems(List.of(
+                new Waste.Item("Plastic", "PET bottles", "Clear drink bottles", 20, 2.5, 125.0),
+                new Waste.Item("Paper/Cardboard", "Cardboard", "Flattened boxes", 5, 4.0, 120.0),
+                new Waste.Item("Aluminum", "Cans", "Drink cans", 30, 1.2, 240.0)));
+        waste.setTotalWeightKg(7.7);
+        waste.setTotalPaybackAmount(485.0);
+        waste.setPaymentMethod("Bank Transfer");
+        waste.setPaymentStatus("Pending");
+        waste.setPaybackMethod("Bank Transfer");
+        waste.setBankTransferDetails(new Waste.BankTransferDetails("Bank of Ceylon", "0012345678", "Nimal Perera", "001"));
+        waste.setLocation(new Waste.GeoLocation(6.9271, 79.8612, "12 Temple Road, Colombo"));
+        return waste;
+    }
+
+    static SpecialCollection specialCollection() {
+        SpecialCollection collection = new SpecialCollection();
+        collection.setId("65f1c2a4e4b0a1b2c3d4e5f8");
+        collection.setUserId("65f1c2a4e4b0a1b2c3d4e5f7");
+        collection.setCategory("Bulky");
+        collection.setItems("Sofa, two chairs");
+        collection.setQuantity(45);
+        collection.setFee(2250.0);
+        collection.setTariffVersion(3L);
+        collection.setDate("2025-03-20");
+        collection.setTimeSlot("Morning");
+        collection.setLocation("Front door");
+        collection.setLatitude(6.9271);
+        collection.setLongitude(79.8612);
+        collection.setInstructions("Gate code 1234");
+        collection.setPaymentMethod("Card");
+        collection.setQrCodeData("SC:65f1c2a4e4b0a1b2c3d4e5f8:65f1c2a4e4b0a1b2c3d4e5f7");
+        return collection;
+    }
+
+    static ScheduleRequest scheduleRequest() {
+        ScheduleRequest request = new ScheduleRequest();
+        request.category = "Bulky";
+        request.items = "Sofa, two chairs";
+        request.quantity = 45;
+        request.date = "2025-03-20";
+        request.timeSlot = "Morning 9.30-12.00";
+        request.location = "Front door";
+        request.coordinates = new GeoLocation();
+        request.coordinates.latitude = 6.9271;
+        request.coordinates.longitude = 79.8612;
+        request.coordinates.address = "12 Temple Road, Colombo";
+        request.instructions = "Gate code 1234";
+        request.paymentMethod = "Card";
+        return request;
+    }
+
+    // Multipart form fields as the recyclable waste form posts them: scalars as strings, nested objects as JSON strings
+    static Map<String, Object> wasteForm(ObjectMapper objectMapper) {
+        Waste waste = waste();
+        try {
+            Map<String, Object> form = new HashMap<>();
+            form.put("userId", waste.getUserId());
+            form.put("fullName", waste.getFullName());
+            form.put("phoneNumber", waste.getPhoneNumber());
+            form.put("email", waste.getEmail());
+            form.put("submissionMethod", waste.getSubmissionMethod());
+            form.put("paymentMethod", waste.getPaymentMethod());
+            form.put("paybackMethod", waste.getPaybackMethod());
+            form.put("totalWeightKg", Double.toString(waste.getTotalWeightKg()));
+            form.put("totalPaybackAmount", Double.toString(waste.getTotalPaybackAmount()));
+            form.put("pickup", objectMapper.writeValueAsString(waste.getPickup()));
+            form.put("items", objectMapper.writeValueAsString(waste.getItems()));
+            form.put("location", objectMapper.writeValueAsString(waste.getLocation()));
+            form.put("bankTransferDetails", objectMapper.writeValueAsString(waste.getBankTransferDetails()));
+            return form;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.config.JacksonConfig;
+import com.example.backend.model.SpecialCollection;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialisation of Waste and SpecialCollection with the
+ * application's ObjectMapper (JacksonConfig), as the controllers write and
+ * read them. Readers and writers are bound to the type once, as Spring's
+ * message converters cache them.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="JsonSerialization"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter wasteWriter;
+    private ObjectReader wasteReader;
+    private ObjectWriter specialCollectionWriter;
+    private ObjectReader specialCollectionReader;
+    private Waste waste;
+    private SpecialCollection specialCollection;
+    private byte[] wasteJson;
+    private byte[] specialCollectionJson;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        wasteWriter = objectMapper.writerFor(Waste.class);
+        // Derived getters (formattedSubmissionDate, summary, ...) are written but have no setter to read them back
+        wasteReader = objectMapper.readerFor(Waste.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        specialCollectionWriter = objectMapper.writerFor(SpecialCollection.class);
+        specialCollectionReader = objectMapper.readerFor(SpecialCollection.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        waste = BenchmarkFixtures.waste();
+        specialCollection = BenchmarkFixtures.specialCollection();
+        wasteJson = wasteWriter.writeValueAsBytes(waste);
+        specialCollectionJson = specialCollectionWriter.writeValueAsBytes(specialCollection);
+    }
+
+    @Benchmark
+    public byte[] writeWaste() throws Exception {
+        return wasteWriter.writeValueAsBytes(waste);
+    }
+
+    @Benchmark
+    public Waste readWaste() throws Exception {
+        return wasteReader.readValue(wasteJson);
+    }
+
+    @Benchmark
+    public byte[] writeSpecialCollection() throws Exception {
+        return specialCollectionWriter.writeValueAsBytes(specialCollection);
+    }
+
+    @Benchmark
+    public SpecialCollection readSpecialCollection() throws Exception {
+        return specialCollectionReader.readValue(specialCollectionJson);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.dto.SpecialCollectionDTOs.FeeRequest;
+import com.example.backend.model.valueobjects.TariffSnapshot;
+import com.example.backend.strategy.PaybackStrategy;
+import com.example.backend.strategy.impl.BankTransferPaybackStrategy;
+import com.example.backend.strategy.impl.DefaultFeeCalculationStrategy;
+import com.example.backend.strategy.impl.DefaultRecyclableWasteStrategy;
+import com.example.backend.strategy.impl.DonationPaybackStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing strategies as the request paths call them: the special collection
+ * fee, the recyclable payback per item, and the bank transfer and donation
+ * payback strategies (the digital wallet strategy writes to the wallet, so
+ * it is left out). Strategies are priced against a compiled snapshot, as
+ * the services do, so no TariffService is needed.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="PricingStrategy"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingStrategyBenchmark {
+
+    private static final String[] SPECIAL = {"Bulky", "hazardous", "E-Waste", "Garden"};
+
+    private final DefaultFeeCalculationStrategy feeStrategy = new DefaultFeeCalculationStrategy(null);
+    private final DefaultRecyclableWasteStrategy recyclableStrategy = new DefaultRecyclableWasteStrategy(null);
+    private final PaybackStrategy bankTransfer = new BankTransferPaybackStrategy();
+    private final PaybackStrategy donation = new DonationPaybackStrategy();
+    private TariffSnapshot tariff;
+    private FeeRequest[] feeRequests;
+    private Waste bankTransferWaste;
+    private Waste donationWaste;
+
+    @Setup
+    public void setup() {
+        tariff = TariffSnapshot.compile(TariffSnapshot.initialTariff());
+        feeRequests = new FeeRequest[SPECIAL.length];
+        for (int i = 0; i < SPECIAL.length; i++) {
+            feeRequests[i] = new FeeRequest();
+            feeRequests[i].category = SPECIAL[i];
+            feeRequests[i].quantity = 10 + i * 15;
+        }
+        bankTransferWaste = BenchmarkFixtures.waste();
+        donationWaste = BenchmarkFixtures.waste();
+        donationWaste.setPaybackMethod("Donation");
+        donationWaste.setCharityOrganization("Green Lanka Trust");
+    }
+
+    @Benchmark
+    public void specialCollectionFee(Blackhole bh) {
+        for (FeeRequest request : feeRequests) {
+            bh.consume(feeStrategy.calculateFee(request, tariff));
+        }
+    }
+
+    @Benchmark
+    public void recyclablePayback(Blackhole bh) {
+        for (Waste.Item item : bankTransferWaste.getItems()) {
+            bh.consume(recyclableStrategy.calculatePaybackAmount(item.getEstimatedWeightKg(), item.getCategory(), tariff));
+        }
+    }
+
+    @Benchmark
+    public Object bankTransferPayback() {
+        return bankTransfer.processPayback(bankTransferWaste);
+    }
+
+    @Benchmark
+    public Object donationPayback() {
+        return donation.processPayback(donationWaste);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.service.QRCodeGenerator;
+import com.example.backend.service.QRCodeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR code rendering: the waste account code (QRCodeGenerator, as served by
+ * /waste-accounts/{id}/qr) and the collection and waste codes of
+ * QRCodeService, as PNG bytes and as the Base64 string stored on documents.
+ * Rendering allocates a bit matrix, an image and the PNG stream per call,
+ * so read the gc.alloc.rate.norm rows next to the throughput.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="QRCode"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QRCodeBenchmark {
+
+    private final QRCodeGenerator generator = new QRCodeGenerator(new SimpleMeterRegistry());
+    private final QRCodeService service = new QRCodeService(new SimpleMeterRegistry());
+    private String collectionData;
+    private String wasteData;
+
+    @Setup
+    public void setup() {
+        collectionData = service.generateCollectionQRData("65f1c2a4e4b0a1b2c3d4e5f8", "65f1c2a4e4b0a1b2c3d4e5f7");
+        wasteData = service.generateDetailedWasteQRData("65f1c2a4e4b0a1b2c3d4e5f6", "Nimal Perera", "Plastic",
+                7.7, "Home Pickup", "Pending", 485.0, "+94771234567");
+    }
+
+    @Benchmark
+    public byte[] accountPng() {
+        return generator.generateQRCodePng("WAAEWJVGEDM");
+    }
+
+    @Benchmark
+    public byte[] collectionPng() throws Exception {
+        return service.generateQRCodeBytes(collectionData, 300, 300);
+    }
+
+    @Benchmark
+    public String wasteBase64() throws Exception {
+        return service.generateQRCodeBase64(wasteData, 300, 300);
+    }
+}
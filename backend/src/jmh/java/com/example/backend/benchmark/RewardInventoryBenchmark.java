@@ -0,0 +1,121 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.util.StripedInventory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redemption stress: 8 threads taking units of the same reward at once
+ * (flash demand). StripedInventory against a single CAS counter and a
+ * synchronized counter, all refilled from the same leasing source.
+ *
+ * The source hands out leaseSize units per call, optionally after a busy
+ * wait that stands in for the conditional $inc round trip to Mongo.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RewardInventory -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RewardInventoryBenchmark {
+
+    @Param({"8", "64"})
+    public int leaseSize;
+
+    @Param({"0", "20"})
+    public int leaseCostMicros;
+
+    private StripedInventory striped;
+    private SingleCounter single;
+    private LockedCounter locked;
+
+    @Setup
+    public void setup() {
+        StripedInventory.LeaseSource source = max -> {
+            if (leaseCostMicros > 0) {
+                long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(leaseCostMicros);
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+            return max;
+        };
+        striped = new StripedInventory(Runtime.getRuntime().availableProcessors(), leaseSize, source);
+        single = new SingleCounter(leaseSize, source);
+        locked = new LockedCounter(leaseSize, source);
+    }
+
+    @Benchmark
+    public boolean striped() {
+        return striped.tryAcquire();
+    }
+
+    @Benchmark
+    public boolean singleAtomicCounter() {
+        return single.tryAcquire();
+    }
+
+    @Benchmark
+    public boolean synchronizedCounter() {
+        return locked.tryAcquire();
+    }
+
+    // One shared AtomicInteger, every taker CASes the same cache line
+    static final class SingleCounter {
+        private final AtomicInteger units = new AtomicInteger();
+        private final int leaseSize;
+        private final StripedInventory.LeaseSource source;
+
+        SingleCounter(int leaseSize, StripedInventory.LeaseSource source) {
+            this.leaseSize = leaseSize;
+            this.source = source;
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = units.get();
+                if (current > 0) {
+                    if (units.compareAndSet(current, current - 1)) return true;
+                    continue;
+                }
+                synchronized (this) {
+                    if (units.get() > 0) continue;
+                    int leased = source.lease(leaseSize);
+                    if (leased <= 0) return false;
+                    units.addAndGet(leased - 1);
+                    return true;
+                }
+            }
+        }
+    }
+
+    // Plain monitor around the counter and the refill
+    static final class LockedCounter {
+        private int units;
+        private final int leaseSize;
+        private final StripedInventory.LeaseSource source;
+
+        LockedCounter(int leaseSize, StripedInventory.LeaseSource source) {
+            this.leaseSize = leaseSize;
+            this.source = source;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (units == 0) {
+                units = source.lease(leaseSize);
+                if (units <= 0) {
+                    units = 0;
+                    return false;
+                }
+            }
+            units--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.service.FanOutService;
+import com.example.backend.util.FanOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of the reads behind SpecialCollectionService.schedule: serial, as
+ * before, against a FanOut scope on FanOutService's pool.
+ *
+ * SlowRepository stands in for Mongo with a fixed round trip per query: the
+ * user read, the unpaid-collection exists query, and the two slot counter
+ * reads of the scheduling strategy. Serial runs pay four round trips; the
+ * fan-out pays the longest branch (the two slot reads) plus the hand-off.
+ * Several threads run the benchmark so the pool is shared as in production.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ScheduleFanOut"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ScheduleFanOutBenchmark {
+
+    @Param({"1", "5"})
+    public int roundTripMillis;
+
+    private SlowRepository repository;
+    private FanOutService fanOutService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = new SlowRepository(roundTripMillis);
+        fanOutService = new FanOutService(new SimpleMeterRegistry(), 16, 256, 2000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fanOutService.shutdown();
+    }
+
+    @Benchmark
+    public Object serial() {
+        boolean active = repository.findUserActive("u1");
+        boolean unpaid = repository.existsUnpaid("u1");
+        List<String> slots = repository.availableSlots("2030-01-07");
+        return active && !unpaid ? slots : null;
+    }
+
+    @Benchmark
+    public Object fanOut() {
+        try (FanOut reads = fanOutService.open()) {
+            FanOut.Branch<Boolean> active = reads.fork("user", () -> repository.findUserActive("u1"));
+            FanOut.Branch<Boolean> unpaid = reads.fork("unpaid collections", () -> repository.existsUnpaid("u1"));
+            FanOut.Branch<List<String>> slots = reads.fork("available slots", () -> repository.availableSlots("2030-01-07"));
+            return active.join() && !unpaid.join() ? slots.join() : null;
+        }
+    }
+
+    // Blocks for one round trip per query, like a repository call waiting on the network
+    static final class SlowRepository {
+        private final long roundTripNanos;
+
+        SlowRepository(int roundTripMillis) {
+            this.roundTripNanos = TimeUnit.MILLISECONDS.toNanos(roundTripMillis);
+        }
+
+        boolean findUserActive(String userId) {
+            roundTrip();
+            return true;
+        }
+
+        boolean existsUnpaid(String userId) {
+            roundTrip();
+            return false;
+        }
+
+        List<String> availableSlots(String date) {
+            List<String> slots = new ArrayList<>(2);
+            roundTrip(); // morning counter
+            slots.add("Morning 9.30-12.00");
+            roundTrip(); // afternoon counter
+            slots.add("Afternoon 3.00-6.00");
+            return slots;
+        }
+
+        private void roundTrip() {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+    }
+}
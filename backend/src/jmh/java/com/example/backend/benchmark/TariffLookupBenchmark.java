@@ -0,0 +1,104 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.model.valueobjects.TariffSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate lookup throughput: the compiled tariff snapshot against the previous
+ * hard-coded strategies (lower-cased switch and HashMap), reproduced below as
+ * the baseline.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="TariffLookup -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TariffLookupBenchmark {
+
+    // Mixed casing as it arrives from the frontend, plus one unknown category
+    private static final String[] RECYCLABLE = {"E-waste", "plastic", "Glass", "ALUMINUM", "Paper/Cardboard", "Textiles"};
+    private static final String[] SPECIAL = {"Bulky", "hazardous", "Organic", "E-Waste", "recyclable", "Garden"};
+
+    private TariffSnapshot snapshot;
+
+    @Setup
+    public void setup() {
+        snapshot = TariffSnapshot.compile(TariffSnapshot.initialTariff());
+    }
+
+    @Benchmark
+    public void recyclableLegacySwitch(Blackhole bh) {
+        for (String category : RECYCLABLE) {
+            bh.consume(LegacyRates.recyclableRate(category));
+        }
+    }
+
+    @Benchmark
+    public void recyclableSnapshot(Blackhole bh) {
+        for (String category : RECYCLABLE) {
+            bh.consume(snapshot.recyclableRate(category));
+        }
+    }
+
+    @Benchmark
+    public void specialLegacyHashMap(Blackhole bh) {
+        for (String category : SPECIAL) {
+            bh.consume(LegacyRates.specialRate(category));
+        }
+    }
+
+    @Benchmark
+    public void specialSnapshot(Blackhole bh) {
+        for (String category : SPECIAL) {
+            bh.consume(snapshot.specialCollectionRate(category));
+        }
+    }
+
+    // Lookups as they were implemented in DefaultRecyclableWasteStrategy and DefaultFeeCalculationStrategy
+    static final class LegacyRates {
+        private static final Map<String, Double> RATE_MAP;
+
+        static {
+            Map<String, Double> rateMap = new HashMap<>();
+            rateMap.put("bulky", 120.0);
+            rateMap.put("hazardous", 140.0);
+            rateMap.put("organic", 80.0);
+            rateMap.put("e-waste", 130.0);
+            rateMap.put("recyclable", 40.0);
+            rateMap.put("other", 100.0);
+            RATE_MAP = Collections.unmodifiableMap(rateMap);
+        }
+
+        static double specialRate(String category) {
+            if (category == null) return 120.0;
+            return RATE_MAP.getOrDefault(category.toLowerCase(), 120.0);
+        }
+
+        static double recyclableRate(String category) {
+            if (category == null) return 5.00;
+            switch (category.toLowerCase()) {
+                case "e-waste":
+                    return 15.00;
+                case "plastic":
+                    return 8.00;
+                case "glass":
+                    return 6.00;
+                case "aluminum":
+                    return 12.00;
+                case "paper/cardboard":
+                    return 4.00;
+                default:
+                    return 5.00;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.config.JacksonConfig;
+import com.example.backend.dto.SpecialCollectionDTOs.ScheduleRequest;
+import com.example.backend.mapper.RecyclableWasteMapper;
+import com.example.backend.util.SpecialCollectionMapper;
+import com.example.backend.validator.RecyclableWasteValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request validation and mapping of submissions: RecyclableWasteValidator
+ * on a valid bank transfer pickup, RecyclableWasteMapper from the multipart
+ * form (nested objects arrive as JSON strings) and back to the response map,
+ * and SpecialCollectionMapper from a schedule request to the fee request and
+ * the entity.
+ *
+ * Run: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ValidationMapping"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationMappingBenchmark {
+
+    private final RecyclableWasteValidator validator = new RecyclableWasteValidator();
+    private final RecyclableWasteMapper wasteMapper = new RecyclableWasteMapper();
+    private final SpecialCollectionMapper specialCollectionMapper = new SpecialCollectionMapper();
+    private Waste waste;
+    private Map<String, Object> wasteForm;
+    private ScheduleRequest scheduleRequest;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        ReflectionTestUtils.setField(wasteMapper, "objectMapper", objectMapper); // field-injected in the application
+        waste = BenchmarkFixtures.waste();
+        wasteForm = BenchmarkFixtures.wasteForm(objectMapper);
+        scheduleRequest = BenchmarkFixtures.scheduleRequest();
+        if (!validator.validateWasteSubmission(waste).isEmpty()) {
+            throw new IllegalStateException("The fixture should be valid: " + validator.validateWasteSubmission(waste));
+        }
+    }
+
+    @Benchmark
+    public List<String> validateWasteSubmission() {
+        return validator.validateWasteSubmission(waste);
+    }
+
+    @Benchmark
+    public Waste mapWasteForm() {
+        return wasteMapper.mapFormDataToWaste(wasteForm);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapWasteResponse() {
+        return wasteMapper.mapWasteToResponse(waste);
+    }
+
+    @Benchmark
+    public Object mapScheduleRequest() {
+        specialCollectionMapper.toFeeRequest(scheduleRequest);
+        return specialCollectionMapper.mapToEntity("65f1c2a4e4b0a1b2c3d4e5f7", scheduleRequest, 2250.0);
+    }
+}
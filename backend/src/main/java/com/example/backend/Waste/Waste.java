@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.annotation.Id;
 import java.time.LocalDateTime;
@@ -11,6 +13,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Document(collection = "wastes")
+@CompoundIndex(name = "user_submission_idx", def = "{'userId': 1, 'submissionDate': -1, '_id': -1}")
+@CompoundIndex(name = "submission_date_idx", def = "{'submissionDate': 1, '_id': 1}")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -32,11 +36,19 @@ public class Waste {
     private Double actualWeightKg; // Actual weight measured by collector
     private Double actualPaybackAmount; // Actual payback amount calculated from actual weight
     private Integer actualDigitalWalletPoints; // Actual digital wallet points based on actual payback amount
+    private Long tariffVersion; // Tariff version the payback was priced with
     private String paymentMethod;
     private String paymentStatus;
     private String paybackMethod; // Bank Transfer, Digital Wallet, Donation
     private BankTransferDetails bankTransferDetails;
     private Integer digitalWalletPoints;
+    // Deferred wallet credit: Pending -> Claimed (by settlementBatchId) -> Settled
+    @Indexed(sparse = true)
+    private String walletSettlement;
+    private Integer settlementPoints; // points to credit when the batch settles
+    @Indexed(sparse = true)
+    private String settlementBatchId;
+    private LocalDateTime settledAt;
     private String charityOrganization;
     private List<Item> items;
     private String imageUrl;
@@ -20,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.example.backend.model.valueobjects.TariffSnapshot;
 import com.example.backend.service.EmailService;
 import com.example.backend.service.RecyclableWasteService;
 import com.example.backend.service.FileUploadService;
@@ -673,8 +674,10 @@ public class WasteController {
 					category = waste.getItems().get(0).getCategory();
 				}
 
-				// Calculate actual payback amount using recyclable waste service
-				double actualPaybackAmount = recyclableWasteService.calculatePaybackAmount(actualWeight, category);
+				// Calculate actual payback amount using recyclable waste service, pinned to one
+				// tariff version so the recorded version matches the price
+				TariffSnapshot tariff = recyclableWasteService.getCurrentTariff();
+				double actualPaybackAmount = recyclableWasteService.calculatePaybackAmount(actualWeight, category, tariff);
 
 				// Calculate actual digital wallet points (1 point per LKR)
 				Integer actualDigitalWalletPoints = (int) Math.round(actualPaybackAmount);
@@ -683,6 +686,7 @@ public class WasteController {
 				waste.setActualWeightKg(actualWeight);
 				waste.setActualPaybackAmount(actualPaybackAmount);
 				waste.setActualDigitalWalletPoints(actualDigitalWalletPoints);
+				waste.setTariffVersion(tariff.getVersion());
 
 				Waste updatedWaste = wasteService.updateWaste(waste);
 
@@ -696,7 +700,8 @@ public class WasteController {
 				response.put("estimatedPaybackAmount", updatedWaste.getTotalPaybackAmount());
 				response.put("estimatedDigitalWalletPoints", updatedWaste.getDigitalWalletPoints());
 				response.put("category", category);
-				response.put("ratePerKg", recyclableWasteService.getRatePerKg(category));
+				response.put("ratePerKg", tariff.recyclableRate(category));
+				response.put("tariffVersion", tariff.getVersion());
 				response.put("message", "Actual weight, payback, and digital wallet points updated successfully");
 				return new ResponseEntity<>(response, HttpStatus.OK);
 			} else {
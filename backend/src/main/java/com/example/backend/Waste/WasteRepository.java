@@ -1,9 +1,13 @@
 package com.example.backend.Waste;
 
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface WasteRepository extends MongoRepository<Waste, ObjectId> {
@@ -12,4 +16,10 @@ public interface WasteRepository extends MongoRepository<Waste, ObjectId> {
 
     // Find waste submissions by userId ordered by submission date (newest first)
     List<Waste> findByUserIdOrderBySubmissionDateDesc(String userId);
+
+    // Submissions with from <= submissionDate < to, oldest first, read through a cursor; backed by the submission date index
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{ 'submissionDate': { $gte: ?0, $lt: ?1 } }", sort = "{ 'submissionDate': 1, '_id': 1 }",
+            fields = "{ 'qrCodeBase64': 0, 'bankTransferDetails': 0 }")
+    Stream<Waste> streamBySubmissionDate(LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
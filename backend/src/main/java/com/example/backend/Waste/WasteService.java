@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.example.backend.service.QRCodeService;
+import com.example.backend.service.TariffService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +22,9 @@ public class WasteService {
     @Autowired
     private QRCodeService qrCodeService;
 
+    @Autowired
+    private TariffService tariffService;
+
     public List<Waste> findAll() {
         return wasteRepository.findAll();
     }
@@ -57,6 +61,8 @@ public class WasteService {
         waste.setImageUrl(imageUrl);
         waste.setLocation(location);
         waste.setSubmissionDate(java.time.LocalDateTime.now());
+        // Tariff the estimated payback was quoted against; replaced when the actual weight is priced
+        waste.setTariffVersion(tariffService.current().getVersion());
 
         // Save first to get the ID, then generate QR code
         Waste savedWaste = wasteRepository.save(waste);
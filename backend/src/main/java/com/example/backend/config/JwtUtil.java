@@ -1,31 +1,70 @@
 package com.example.backend.config;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.security.Key; 
 import java.time.Duration; 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.security.Keys; 
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 
+// Signs and verifies session tokens. Every node must share app.session.secret,
+// otherwise a token issued by one node is rejected by the others.
 @Component
 public class JwtUtil {
-     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private static final String ROLE_CLAIM = "role";
+    private static final int MIN_SECRET_BYTES = 32; // HS256 key size
 
-    public String generateToken(String userId, Duration ttl) {
+    private final Key key;
+
+    public JwtUtil(@Value("${app.session.secret:}") String secret,
+                   @Value("${app.session.allow-random-secret:false}") boolean allowRandomSecret) {
+        if (secret == null || secret.isBlank()) {
+            if (!allowRandomSecret) {
+                throw new IllegalStateException("app.session.secret (APP_SESSION_SECRET) must be set; "
+                        + "set app.session.allow-random-secret=true only for single-node development");
+            }
+            System.err.println("app.session.secret is not set; using a random key, sessions will not survive a restart or work across nodes");
+            this.key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("app.session.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+            this.key = Keys.hmacShaKeyFor(bytes);
+        }
+    }
+
+    public String generateToken(String userId, String role, Duration ttl) {
         long now = System.currentTimeMillis();
         Date exp = new Date(now + ttl.toMillis());
         return Jwts.builder()
             .setSubject(userId)
+            .claim(ROLE_CLAIM, role)
             .setIssuedAt(new Date(now))
             .setExpiration(exp)
             .signWith(key)
             .compact();
     }
 
+    // Returns the session carried by a valid token, or null if it is malformed, forged or expired
+    public SessionUser parse(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody();
+            return new SessionUser(claims.getSubject(), claims.get(ROLE_CLAIM, String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String extractUserId(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-            .parseClaimsJws(token).getBody().getSubject();
+        SessionUser session = parse(token);
+        return session == null ? null : session.getUserId();
     }
 }
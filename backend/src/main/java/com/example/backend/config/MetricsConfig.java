@@ -0,0 +1,36 @@
+package com.example.backend.config;
+
+import com.mongodb.event.CommandEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Mongo command timings (mongodb.driver.commands) come from the driver command listener Boot registers; keep only the tags dashboards group by
+@Configuration
+public class MetricsConfig {
+
+    // cluster.id changes on every start and server.address multiplies each series by the replica set members
+    private static final Set<String> MONGO_COMMAND_TAGS = Set.of("command", "collection", "status");
+
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new DefaultMongoCommandTagsProvider() {
+            @Override
+            public Iterable<Tag> commandTags(CommandEvent event) {
+                List<Tag> kept = new ArrayList<>();
+                for (Tag tag : super.commandTags(event)) {
+                    if (MONGO_COMMAND_TAGS.contains(tag.getKey())) {
+                        kept.add(tag);
+                    }
+                }
+                return kept;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.backend.config;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.model.Collection;
+import com.example.backend.model.DigitalWallet;
+import com.example.backend.model.RewardRedemption;
+import com.example.backend.model.SpecialCollection;
+import com.example.backend.model.Tariff;
+import com.example.backend.model.VerificationToken;
+import com.example.backend.model.WalletLedgerSummary;
+import com.example.backend.model.WalletTransaction;
+import com.example.backend.model.WasteAccount;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on our documents (@Indexed / @CompoundIndex).
+ *
+ * Auto index creation is off in Spring Data MongoDB, so every document whose
+ * queries depend on an index is listed here. Indexes are ensured once the
+ * application is ready, on a background thread, so a slow or unreachable
+ * cluster never blocks startup.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            SpecialCollection.class,
+            Waste.class,
+            DigitalWallet.class,
+            Tariff.class,
+            WalletTransaction.class,
+            WalletLedgerSummary.class,
+            RewardRedemption.class,
+            VerificationToken.class,
+            WasteAccount.class,
+            Collection.class
+    );
+
+    private static final int INDEX_OPTIONS_CONFLICT = 85;
+    private static final int INDEX_KEY_SPECS_CONFLICT = 86;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate,
+                            @Value("${app.mongo.ensure-indexes:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::createIndexes, "mongo-index-init");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void createIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(type);
+                String collection = mongoTemplate.getCollectionName(type);
+                resolver.resolveIndexFor(type).forEach(index -> ensureIndex(indexOps, collection, index));
+            } catch (Exception e) {
+                System.err.println("Could not ensure indexes for " + type.getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // An index whose options changed (e.g. it became unique) keeps its name, so the old definition is dropped and the index rebuilt.
+    // A unique index is only rebuilt when no duplicates exist, and a failed rebuild puts back a plain index on the same keys,
+    // so the queries that rely on it never fall back to collection scans.
+    private void ensureIndex(IndexOperations indexOps, String collection, IndexDefinition index) {
+        try {
+            indexOps.ensureIndex(index);
+        } catch (RuntimeException e) {
+            String name = index.getIndexOptions().getString("name");
+            if (name == null || !isOptionsConflict(e)) {
+                throw e;
+            }
+            if (index.getIndexOptions().getBoolean("unique", false) && hasDuplicates(collection, index)) {
+                System.err.println("Keeping the existing index " + name + " on " + collection
+                        + ": duplicate values must be resolved before it can become unique");
+                return;
+            }
+            System.out.println("Rebuilding index " + name + " with its new options");
+            indexOps.dropIndex(name);
+            try {
+                indexOps.ensureIndex(index);
+            } catch (RuntimeException rebuildFailure) {
+                mongoTemplate.getCollection(collection).createIndex(index.getIndexKeys(), new IndexOptions().name(name));
+                System.err.println("Could not rebuild index " + name + " on " + collection
+                        + ", restored it without the new options: " + rebuildFailure.getMessage());
+            }
+        }
+    }
+
+    // Whether two documents share the index keys; documents missing a key only count for non-sparse indexes
+    private boolean hasDuplicates(String collection, IndexDefinition index) {
+        Document keys = index.getIndexKeys();
+        Document groupKey = new Document();
+        Document present = new Document();
+        for (String field : keys.keySet()) {
+            groupKey.append(field.replace('.', '_'), "$" + field);
+            present.append(field, new Document("$exists", true));
+        }
+        List<Document> pipeline = new ArrayList<>();
+        if (index.getIndexOptions().getBoolean("sparse", false)) {
+            pipeline.add(new Document("$match", present));
+        }
+        pipeline.add(new Document("$group", new Document("_id", groupKey).append("count", new Document("$sum", 1))));
+        pipeline.add(new Document("$match", new Document("count", new Document("$gt", 1))));
+        pipeline.add(new Document("$limit", 1));
+        return mongoTemplate.getCollection(collection).aggregate(pipeline).allowDiskUse(true).first() != null;
+    }
+
+    private static boolean isOptionsConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoCommandException command
+                    && (command.getErrorCode() == INDEX_OPTIONS_CONFLICT || command.getErrorCode() == INDEX_KEY_SPECS_CONFLICT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
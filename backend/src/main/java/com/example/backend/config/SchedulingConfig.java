@@ -0,0 +1,10 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (@Scheduled) run on the task scheduler pool configured in application.properties
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -6,21 +6,34 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private final JwtUtil jwtUtil;
+
+    public SecurityConfig(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.and())
-                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new SessionAuthFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/waste/**").permitAll()
                         .requestMatchers("/api/special-collection/**").permitAll()
+                        .requestMatchers("/api/timeline/**").permitAll()
+                        .requestMatchers("/api/tariffs/**").permitAll()
+                        .requestMatchers("/api/rewards/**").permitAll()
+                        .requestMatchers("/api/bins/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // scraper has no session; keep the port off the public network
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("OPTIONS", "/**").permitAll()
                         .anyRequest().authenticated())
@@ -0,0 +1,53 @@
+package com.example.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+// Authenticates requests from the signed SESSIONID cookie alone, without reading the user from the database
+public class SessionAuthFilter extends OncePerRequestFilter {
+    public static final String COOKIE_NAME = "SESSIONID";
+
+    private final JwtUtil jwtUtil;
+
+    public SessionAuthFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = readCookie(request);
+        SessionUser session = token == null ? null : jwtUtil.parse(token);
+        if (session != null && session.getUserId() != null) {
+            request.setAttribute(SessionUser.REQUEST_ATTRIBUTE, session);
+            List<SimpleGrantedAuthority> authorities = session.getRole() == null
+                    ? List.of()
+                    : List.of(new SimpleGrantedAuthority("ROLE_" + session.getRole()));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(session, null, authorities));
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie c : cookies) {
+                if (COOKIE_NAME.equals(c.getName()) && c.getValue() != null && !c.getValue().isEmpty()) {
+                    return c.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Identity of the signed-in caller, taken from the verified session token by SessionAuthFilter
+public final class SessionUser {
+    public static final String ADMIN = "ADMIN";
+    public static final String COLLECTOR = "COLLECTOR";
+
+    static final String REQUEST_ATTRIBUTE = SessionUser.class.getName();
+
+    private final String userId;
+    private final String role;
+
+    public SessionUser(String userId, String role) {
+        this.userId = userId;
+        this.role = role;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return ADMIN.equals(role);
+    }
+
+    // Session of the current request, or null when the caller is not signed in
+    public static SessionUser from(HttpServletRequest request) {
+        Object session = request.getAttribute(REQUEST_ATTRIBUTE);
+        return session instanceof SessionUser ? (SessionUser) session : null;
+    }
+
+    // User ID of the current request, or null when the caller is not signed in
+    public static String userIdOf(HttpServletRequest request) {
+        SessionUser session = from(request);
+        return session == null ? null : session.userId;
+    }
+}
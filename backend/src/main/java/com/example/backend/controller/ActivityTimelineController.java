@@ -0,0 +1,32 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SessionUser;
+import com.example.backend.dto.TimelineDTOs.TimelinePage;
+import com.example.backend.service.ActivityTimelineService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/timeline")
+public class ActivityTimelineController {
+
+    private final ActivityTimelineService activityTimelineService;
+
+    public ActivityTimelineController(ActivityTimelineService activityTimelineService) {
+        this.activityTimelineService = activityTimelineService;
+    }
+
+    /** Get the signed-in user's activity, newest first */
+    @GetMapping
+    public ResponseEntity<TimelinePage> getTimeline(HttpServletRequest request,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        String userId = SessionUser.userIdOf(request);
+        if (userId == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok(activityTimelineService.getTimeline(userId, cursor, size));
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.JwtUtil;
+import com.example.backend.config.SessionAuthFilter;
+import com.example.backend.config.SessionUser;
 import com.example.backend.dto.RegisterStep1DTO;
 import com.example.backend.dto.RegisterStep2DTO;
 import com.example.backend.dto.RegisterStep3DTO;
@@ -8,6 +11,7 @@ import com.example.backend.dto.LoginDTO;
 import com.example.backend.dto.EmailVerificationDTO;
 import com.example.backend.dto.UpdateProfileDTO;
 import com.example.backend.dto.ChangePasswordDTO;
+import com.example.backend.exception.ServiceBusyException;
 import com.example.backend.model.User;
 import com.example.backend.model.WasteAccount;
 import com.example.backend.service.AuthService;
@@ -16,19 +20,28 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Duration SESSION_TTL = Duration.ofDays(28);
+
     @Autowired
     private AuthService authService;
     
     @Autowired
     private WasteAccountService wasteAccountService;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
     // STEP 1 Registration
     @PostMapping("/register/step1")
     public User registerStep1(@RequestBody RegisterStep1DTO step1DTO) {
@@ -101,7 +114,6 @@ public class AuthController {
         
         return new WasteAccountResponseDTO(
             wasteAccount.getAccountId(),
-            wasteAccount.getQrCode(),
             locationDTO,
             wasteAccount.getCreatedAt().toString(),
             wasteAccount.getCapacity()
@@ -113,10 +125,10 @@ public class AuthController {
     public User login(@RequestBody LoginDTO loginDTO, HttpServletResponse response) {
         User user = authService.login(loginDTO);
 
-        // 🧁 Create SESSIONID cookie
-        Cookie cookie = new Cookie("SESSIONID", user.getId());
+        // 🧁 Create SESSIONID cookie holding a signed token (user ID + role), verified by every node without a lookup
+        Cookie cookie = new Cookie(SessionAuthFilter.COOKIE_NAME, jwtUtil.generateToken(user.getId(), user.getRole(), SESSION_TTL));
         cookie.setHttpOnly(true);
-        cookie.setMaxAge(28 * 24 * 60 * 60); // 28 days
+        cookie.setMaxAge((int) SESSION_TTL.getSeconds()); // 28 days
         cookie.setPath("/");
         response.addCookie(cookie);
 
@@ -124,19 +136,24 @@ public class AuthController {
         return user;
     }
 
-    // ✅ Check if user is authenticated (using SESSIONID cookie)
+    // ✅ Check if user is authenticated (using the verified SESSIONID token)
     @GetMapping("/check")
     public ResponseEntity<?> checkAuth(HttpServletRequest request) {
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            for (Cookie c : cookies) {
-                if ("SESSIONID".equals(c.getName()) && c.getValue() != null && !c.getValue().isEmpty()) {
-                    User user = authService.findUserById(c.getValue());
-                    if (user != null) {
-                        return ResponseEntity.ok(user); // ✅ Return the user itself
-                    }
-                }
-            }
+        SessionUser session = SessionUser.from(request);
+        if (session == null) {
+            return ResponseEntity.status(401).body("Not authenticated");
+        }
+        User user = authService.findUserById(session.getUserId());
+        if (user != null) {
+            return ResponseEntity.ok(user); // ✅ Return the user itself
+        }
+        if (session.isAdmin() || SessionUser.COLLECTOR.equals(session.getRole())) {
+            // Built-in staff accounts are not stored, the token is all there is
+            User staff = new User();
+            staff.setId(session.getUserId());
+            staff.setRole(session.getRole());
+            staff.setEmailVerified(true);
+            return ResponseEntity.ok(staff);
         }
         return ResponseEntity.status(401).body("Not authenticated");
     }
@@ -153,6 +170,8 @@ public class AuthController {
         try {
             authService.changePassword(userId, changePasswordDTO);
             return ResponseEntity.ok().body("Password changed successfully");
+        } catch (ServiceBusyException e) {
+            throw e; // answered with 503 and Retry-After
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -174,7 +193,6 @@ public class AuthController {
         
         return new WasteAccountResponseDTO(
             wasteAccount.getAccountId(),
-            wasteAccount.getQrCode(),
             locationDTO,
             wasteAccount.getCreatedAt() != null ? wasteAccount.getCreatedAt().toString() : "Unknown",
             wasteAccount.getCapacity()
@@ -197,7 +215,6 @@ public class AuthController {
                 
                 return new WasteAccountResponseDTO(
                     account.getAccountId(),
-                    account.getQrCode(),
                     locationDTO,
                     account.getCreatedAt() != null ? account.getCreatedAt().toString() : "Unknown",
                     account.getCapacity()
@@ -206,12 +223,22 @@ public class AuthController {
             .collect(java.util.stream.Collectors.toList());
     }
 
+    // Get a waste account's QR code image (rendered on first request)
+    @GetMapping("/waste-accounts/{accountId}/qr")
+    public ResponseEntity<byte[]> getWasteAccountQrCode(@PathVariable String accountId) {
+        byte[] png = wasteAccountService.getQrCodePng(accountId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(30))) // The code only encodes the account ID
+                .body(png);
+    }
+
     // Auto-randomize capacity for waste accounts
     @PostMapping("/waste-accounts/randomize-capacity")
     public ResponseEntity<?> autoRandomizeCapacity(@RequestParam double percentage) {
         try {
-            java.util.List<WasteAccount> updatedAccounts = wasteAccountService.autoRandomizeCapacity(percentage);
-            return ResponseEntity.ok().body("Successfully randomized capacity for " + updatedAccounts.size() + " waste accounts");
+            int updatedAccounts = wasteAccountService.autoRandomizeCapacity(percentage);
+            return ResponseEntity.ok().body("Successfully randomized capacity for " + updatedAccounts + " waste accounts");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -242,7 +269,7 @@ public class AuthController {
     @PostMapping("/logout")
     public ResponseEntity<?> logout(HttpServletResponse response) {
         // Clear the SESSIONID cookie
-        Cookie cookie = new Cookie("SESSIONID", null);
+        Cookie cookie = new Cookie(SessionAuthFilter.COOKIE_NAME, null);
         cookie.setHttpOnly(true);
         cookie.setMaxAge(0); // Delete the cookie
         cookie.setPath("/");
@@ -0,0 +1,107 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SessionUser;
+import com.example.backend.dto.BinDTOs.BinPage;
+import com.example.backend.dto.BinDTOs.FillLevelPoint;
+import com.example.backend.dto.BinDTOs.FillLevelSample;
+import com.example.backend.dto.BinDTOs.SensorReading;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.service.BinAlertService;
+import com.example.backend.service.BinMapService;
+import com.example.backend.service.FillLevelIngestionService;
+import com.example.backend.service.FillLevelService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/bins")
+public class BinController {
+
+    public static final String SENSOR_KEY_HEADER = "X-Sensor-Key";
+
+    private final BinMapService binMapService;
+    private final FillLevelService fillLevelService;
+    private final FillLevelIngestionService ingestionService;
+    private final BinAlertService binAlertService;
+
+    public BinController(BinMapService binMapService, FillLevelService fillLevelService,
+                         FillLevelIngestionService ingestionService, BinAlertService binAlertService) {
+        this.binMapService = binMapService;
+        this.fillLevelService = fillLevelService;
+        this.ingestionService = ingestionService;
+        this.binAlertService = binAlertService;
+    }
+
+    /** Get bin markers (account ID, coordinates, fill level) inside an optional bounding box */
+    @GetMapping
+    public BinPage getBins(@RequestParam(required = false) Double minLat,
+                           @RequestParam(required = false) Double maxLat,
+                           @RequestParam(required = false) Double minLng,
+                           @RequestParam(required = false) Double maxLng,
+                           @RequestParam(defaultValue = "0") int page,
+                           @RequestParam(defaultValue = "200") int size) {
+        return binMapService.findBins(minLat, maxLat, minLng, maxLng, page, size);
+    }
+
+    /** Get every fill-level reading of a bin in [from, to); defaults to the last 24 hours */
+    @GetMapping("/{accountId}/fill-levels")
+    public List<FillLevelPoint> getFillLevels(@PathVariable String accountId,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        return fillLevelService.getReadings(accountId, start, end);
+    }
+
+    /** Get a bin's fill levels in [from, to) as one average/min/max sample per step, for charts */
+    @GetMapping("/{accountId}/fill-levels/downsampled")
+    public List<FillLevelSample> getDownsampledFillLevels(@PathVariable String accountId,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                          @RequestParam(defaultValue = "60") long stepMinutes) {
+        return fillLevelService.downsample(accountId, from, to, Duration.ofMinutes(stepMinutes));
+    }
+
+    /** Accept a batch of sensor readings from a sensor (X-Sensor-Key) or an administrator; they are written in bulk within a few seconds */
+    @PostMapping("/readings")
+    public ResponseEntity<?> ingestReadings(@RequestHeader(value = SENSOR_KEY_HEADER, required = false) String sensorKey,
+                                            @RequestBody List<SensorReading> readings,
+                                            HttpServletRequest request) {
+        if (!ingestionService.isSensorKey(sensorKey)) {
+            SessionUser session = SessionUser.from(request);
+            if (session == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            if (!session.isAdmin()) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int accepted = ingestionService.ingest(readings);
+        int refused = readings.size() - accepted;
+        if (accepted == 0 && refused > 0) {
+            throw new ServiceBusyException("Sensor ingestion is busy, please retry", 1);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.ACCEPTED);
+        if (refused > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, "1"); // resend the refused tail of the batch
+        }
+        return response.body(Map.of("accepted", accepted, "refused", refused));
+    }
+
+    /** Stream full-bin alerts (snapshot, bin-full, bin-cleared) to a collector or administrator */
+    @GetMapping(value = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamAlerts(HttpServletRequest request) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        if (!session.isAdmin() && !SessionUser.COLLECTOR.equals(session.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(binAlertService.subscribe());
+    }
+}
@@ -1,16 +1,22 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.SessionUser;
+import com.example.backend.dto.CollectionBatchDTOs.BatchResponse;
 import com.example.backend.dto.CollectionRequestDTO;
 import com.example.backend.dto.CollectionResponseDTO;
 import com.example.backend.model.Collection;
 import com.example.backend.service.CollectionService;
 import com.example.backend.service.CollectionMapper;
 import com.example.backend.validator.CollectionValidator;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,6 +30,8 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class CollectionController {
     
+    private static final int MAX_BATCH = 500;
+    
     @Autowired
     private CollectionService collectionService;
     
@@ -67,6 +75,68 @@ public class CollectionController {
         }
     }
     
+    /**
+     * Sync collections a collector recorded offline
+     * Each record carries a client-generated ID, so resending a batch never stores a record twice.
+     * The answer has one ack per record, in order: S stored, D already stored, R rejected (reason in errors)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> syncBatch(@RequestBody List<CollectionRequestDTO> requests, HttpServletRequest httpRequest) {
+        SessionUser session = SessionUser.from(httpRequest);
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not signed in"));
+        }
+        if (!session.isAdmin() && !SessionUser.COLLECTOR.equals(session.getRole())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Only collectors can sync collections"));
+        }
+        if (requests == null || requests.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "The batch is empty"));
+        }
+        if (requests.size() > MAX_BATCH) {
+            return ResponseEntity.badRequest().body(Map.of("error", "A batch can hold at most " + MAX_BATCH + " collections"));
+        }
+        
+        List<CollectionValidator.ValidationResult> validations = collectionValidator.validateBatch(requests);
+        char[] acks = new char[requests.size()];
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        List<Collection> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (!validations.get(i).isValid()) {
+                acks[i] = 'R';
+                errors.put(i, validations.get(i).getErrorMessage());
+                continue;
+            }
+            CollectionRequestDTO request = requests.get(i);
+            Collection collection = collectionMapper.toEntity(request);
+            collection.setId(request.getClientId());
+            if (!session.isAdmin()) {
+                collection.setCollectorId(session.getUserId()); // collectors only sync their own records
+            }
+            Instant collectedAt = request.getCollectedAt();
+            if (collectedAt != null) {
+                collection.setCollectionTimestamp(collectedAt);
+            }
+            valid.add(collection);
+            validIndexes.add(i);
+        }
+        
+        boolean[] stored = collectionService.upsertBatch(valid);
+        BatchResponse response = new BatchResponse();
+        for (int j = 0; j < stored.length; j++) {
+            acks[validIndexes.get(j)] = stored[j] ? 'S' : 'D';
+            if (stored[j]) {
+                response.stored++;
+            } else {
+                response.duplicates++;
+            }
+        }
+        response.acks = new String(acks);
+        response.errors = errors;
+        response.rejected = errors.size();
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get all collections
      */
@@ -116,6 +186,19 @@ public class CollectionController {
         return ResponseEntity.ok(stats);
     }
     
+    /**
+     * Recompute collection statistics for a collector from its collections (administrators only)
+     */
+    @PostMapping("/stats/{collectorId}/rebuild")
+    public ResponseEntity<?> rebuildCollectionStats(@PathVariable String collectorId, HttpServletRequest request) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null || !session.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Only administrators can rebuild statistics"));
+        }
+        int documents = collectionService.rebuildCollectionStats(collectorId);
+        return ResponseEntity.ok(Map.of("collectorId", collectorId, "documents", documents));
+    }
+    
     /**
      * Update collection status
      */
@@ -1,27 +1,42 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.SessionUser;
+import com.example.backend.dto.WalletDTOs.TransactionPage;
+import com.example.backend.exception.CustomException;
 import com.example.backend.model.DigitalWallet;
+import com.example.backend.model.WalletLedgerSummary;
+import com.example.backend.model.WalletTransaction;
 import com.example.backend.service.DigitalWalletService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/digital-wallet")
 public class DigitalWalletController {
 
+    private static final int RECENT_TRANSACTIONS = 10; // Entries embedded in the wallet response
+
     @Autowired
     private DigitalWalletService digitalWalletService;
 
     // Get digital wallet by user ID
     @GetMapping("/{userId}")
-    public ResponseEntity<Map<String, Object>> getDigitalWallet(@PathVariable String userId) {
+    public ResponseEntity<Map<String, Object>> getDigitalWallet(@PathVariable String userId, HttpServletRequest request) {
+        ResponseEntity<Map<String, Object>> denied = denyUnlessOwner(userId, request);
+        if (denied != null) return denied;
         try {
             DigitalWallet wallet = digitalWalletService.getWallet(userId);
+            TransactionPage recent = digitalWalletService.getTransactions(userId, null, RECENT_TRANSACTIONS);
 
             Map<String, Object> response = new HashMap<>();
             response.put("id", wallet.getId());
@@ -29,7 +44,8 @@ public class DigitalWalletController {
             response.put("points", wallet.getPoints());
             response.put("createdAt", wallet.getCreatedAt());
             response.put("updatedAt", wallet.getUpdatedAt());
-            response.put("transactions", wallet.getTransactions());
+            response.put("transactions", recent.transactions);
+            response.put("transactionsCursor", recent.nextCursor);
 
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (Exception e) {
@@ -44,7 +60,10 @@ public class DigitalWalletController {
     @PostMapping("/{userId}/add-points")
     public ResponseEntity<Map<String, Object>> addPoints(
             @PathVariable String userId,
-            @RequestBody Map<String, Object> request) {
+            @RequestBody Map<String, Object> request,
+            HttpServletRequest httpRequest) {
+        ResponseEntity<Map<String, Object>> denied = denyUnlessAdmin(httpRequest);
+        if (denied != null) return denied;
         try {
             Integer points = ((Number) request.get("points")).intValue();
             String description = (String) request.get("description");
@@ -76,7 +95,10 @@ public class DigitalWalletController {
     @PostMapping("/{userId}/deduct-points")
     public ResponseEntity<Map<String, Object>> deductPoints(
             @PathVariable String userId,
-            @RequestBody Map<String, Object> request) {
+            @RequestBody Map<String, Object> request,
+            HttpServletRequest httpRequest) {
+        ResponseEntity<Map<String, Object>> denied = denyUnlessAdmin(httpRequest);
+        if (denied != null) return denied;
         try {
             Integer points = ((Number) request.get("points")).intValue();
             String description = (String) request.get("description");
@@ -87,10 +109,10 @@ public class DigitalWalletController {
                 return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
             }
 
-            boolean success = digitalWalletService.deductPoints(userId, points, description);
+            Optional<DigitalWallet> deducted = digitalWalletService.deduct(userId, points, description);
 
-            if (success) {
-                DigitalWallet wallet = digitalWalletService.getWallet(userId);
+            if (deducted.isPresent()) {
+                DigitalWallet wallet = deducted.get();
                 Map<String, Object> response = new HashMap<>();
                 response.put("id", wallet.getId());
                 response.put("userId", wallet.getUserId());
@@ -112,7 +134,9 @@ public class DigitalWalletController {
 
     // Get points balance only
     @GetMapping("/{userId}/balance")
-    public ResponseEntity<Map<String, Object>> getBalance(@PathVariable String userId) {
+    public ResponseEntity<Map<String, Object>> getBalance(@PathVariable String userId, HttpServletRequest request) {
+        ResponseEntity<Map<String, Object>> denied = denyUnlessOwner(userId, request);
+        if (denied != null) return denied;
         try {
             Integer points = digitalWalletService.getPoints(userId);
 
@@ -128,4 +152,109 @@ public class DigitalWalletController {
             return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    // Get one page of the transaction history, newest first
+    @GetMapping("/{userId}/transactions")
+    public ResponseEntity<Map<String, Object>> getTransactions(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            HttpServletRequest request) {
+        ResponseEntity<Map<String, Object>> denied = denyUnlessOwner(userId, request);
+        if (denied != null) return denied;
+        try {
+            TransactionPage page = digitalWalletService.getTransactions(userId, cursor, size);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("userId", userId);
+            response.put("transactions", page.transactions);
+            response.put("nextCursor", page.nextCursor);
+
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (CustomException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            e.printStackTrace();
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get transactions: " + e.getMessage());
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get monthly summaries of compacted history
+    @GetMapping("/{userId}/transactions/monthly")
+    public ResponseEntity<Map<String, Object>> getMonthlySummaries(@PathVariable String userId, HttpServletRequest request) {
+        ResponseEntity<Map<String, Object>> denied = denyUnlessOwner(userId, request);
+        if (denied != null) return denied;
+        try {
+            List<WalletLedgerSummary> summaries = digitalWalletService.getMonthlySummaries(userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("userId", userId);
+            response.put("months", summaries);
+
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (Exception e) {
+            e.printStackTrace();
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get monthly summaries: " + e.getMessage());
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get the archived transactions of one compacted month
+    @GetMapping("/{userId}/transactions/archive")
+    public ResponseEntity<Map<String, Object>> getArchivedTransactions(
+            @PathVariable String userId,
+            @RequestParam String month,
+            HttpServletRequest request) {
+        ResponseEntity<Map<String, Object>> denied = denyUnlessOwner(userId, request);
+        if (denied != null) return denied;
+        try {
+            YearMonth yearMonth = YearMonth.parse(month);
+            List<WalletTransaction> transactions = digitalWalletService.getArchivedTransactions(userId, yearMonth);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("userId", userId);
+            response.put("month", yearMonth.toString());
+            response.put("transactions", transactions);
+
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (DateTimeParseException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Month must be in yyyy-MM format");
+            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            e.printStackTrace();
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to get archived transactions: " + e.getMessage());
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Wallets are read by their owner or an administrator; null when the caller may proceed
+    private static ResponseEntity<Map<String, Object>> denyUnlessOwner(String userId, HttpServletRequest request) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not signed in"));
+        }
+        if (!session.isAdmin() && !userId.equals(session.getUserId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "You can only view your own wallet"));
+        }
+        return null;
+    }
+
+    // Points are earned and spent through the services; only administrators adjust balances by hand
+    private static ResponseEntity<Map<String, Object>> denyUnlessAdmin(HttpServletRequest request) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not signed in"));
+        }
+        if (!session.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Only administrators can adjust points"));
+        }
+        return null;
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SessionUser;
+import com.example.backend.service.CsvExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * CSV exports of a date range for operations staff (administrators only).
+ * The response is streamed while the rows are read, so it starts at once and never builds up in memory.
+ */
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class ExportController {
+
+    public static final long MAX_RANGE_DAYS = 366;
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final CsvExportService csvExportService;
+
+    public ExportController(CsvExportService csvExportService) {
+        this.csvExportService = csvExportService;
+    }
+
+    @GetMapping("/collections.csv")
+    public ResponseEntity<?> exportCollections(HttpServletRequest request,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return export(request, "collections", from, to, out -> csvExportService.writeCollections(from, to, out));
+    }
+
+    @GetMapping("/wastes.csv")
+    public ResponseEntity<?> exportWastes(HttpServletRequest request,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return export(request, "wastes", from, to, out -> csvExportService.writeWastes(from, to, out));
+    }
+
+    @GetMapping("/special-collections.csv")
+    public ResponseEntity<?> exportSpecialCollections(HttpServletRequest request,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return export(request, "special-collections", from, to, out -> csvExportService.writeSpecialCollections(from, to, out));
+    }
+
+    private ResponseEntity<?> export(HttpServletRequest request, String name, LocalDate from, LocalDate to, CsvBody body) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        if (!session.isAdmin()) return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().body("The range must run forwards and span at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        StreamingResponseBody stream = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            body.write(writer);
+        };
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(CSV);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + name + "-" + from + "-to-" + to + ".csv");
+        headers.setCacheControl("no-store");
+        return ResponseEntity.ok().headers(headers).body(stream);
+    }
+
+    @FunctionalInterface
+    private interface CsvBody {
+        void write(Writer out) throws IOException;
+    }
+}
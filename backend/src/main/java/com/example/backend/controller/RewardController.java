@@ -0,0 +1,72 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SessionUser;
+import com.example.backend.model.Reward;
+import com.example.backend.model.RewardRedemption;
+import com.example.backend.service.RewardService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/rewards")
+public class RewardController {
+
+    private final RewardService rewardService;
+
+    public RewardController(RewardService rewardService) {
+        this.rewardService = rewardService;
+    }
+
+    /** Get the active rewards catalogue */
+    @GetMapping
+    public List<Reward> getCatalogue() {
+        return rewardService.getCatalogue();
+    }
+
+    /** Redeem one unit of a reward with the logged in user's points */
+    @PostMapping("/{rewardId}/redeem")
+    public ResponseEntity<?> redeem(HttpServletRequest request, @PathVariable String rewardId) {
+        String userId = SessionUser.userIdOf(request);
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        RewardRedemption redemption = rewardService.redeem(userId, rewardId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(redemption);
+    }
+
+    /** Get the logged in user's redemptions */
+    @GetMapping("/redemptions")
+    public ResponseEntity<?> getRedemptions(HttpServletRequest request) {
+        String userId = SessionUser.userIdOf(request);
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        return ResponseEntity.ok(rewardService.getRedemptions(userId));
+    }
+
+    /** Add a reward to the catalogue */
+    @PostMapping
+    public ResponseEntity<?> create(HttpServletRequest request, @RequestBody Reward reward) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        if (!session.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Only administrators can manage rewards"));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(rewardService.create(reward, session.getUserId()));
+    }
+
+    /** Add stock to a reward */
+    @PostMapping("/{rewardId}/restock")
+    public ResponseEntity<?> restock(HttpServletRequest request, @PathVariable String rewardId,
+                                     @RequestBody Map<String, Integer> body) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        if (!session.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Only administrators can manage rewards"));
+        }
+        Integer quantity = body.get("quantity");
+        rewardService.restock(rewardId, quantity == null ? 0 : quantity);
+        return ResponseEntity.ok(Map.of("message", "Reward restocked"));
+    }
+}
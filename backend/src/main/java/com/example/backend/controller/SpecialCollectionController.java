@@ -1,5 +1,6 @@
 package com.example.backend.controller;
 
+import com.example.backend.config.SessionUser;
 import com.example.backend.dto.SpecialCollectionDTOs.FeeRequest;
 import com.example.backend.dto.SpecialCollectionDTOs.FeeResponse;
 import com.example.backend.dto.SpecialCollectionDTOs.RescheduleRequest;
@@ -7,15 +8,19 @@ import com.example.backend.dto.SpecialCollectionDTOs.PayRequest;
 import com.example.backend.dto.SpecialCollectionDTOs.ScheduleRequest;
 import com.example.backend.dto.SpecialCollectionDTOs.ScheduleResponse;
 import com.example.backend.model.SpecialCollection;
+import com.example.backend.service.SpecialCollectionReceiptService;
 import com.example.backend.service.SpecialCollectionService;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,49 +32,41 @@ import java.util.stream.Collectors;
 public class SpecialCollectionController {
 
     private final SpecialCollectionService specialCollectionService; // Service dependency for business logic
+    private final SpecialCollectionReceiptService receiptService; // Service for receipts and statements
 
-    public SpecialCollectionController(SpecialCollectionService specialCollectionService) { // Constructor injection
+    public SpecialCollectionController(SpecialCollectionService specialCollectionService, // Constructor injection
+                                       SpecialCollectionReceiptService receiptService) {
         this.specialCollectionService = specialCollectionService;
+        this.receiptService = receiptService;
     }
 
     @GetMapping("/receipt/{id}")
     public ResponseEntity<byte[]> downloadReceipt(HttpServletRequest request, @PathVariable("id") String id) {
-        String userId = getUserIdFromCookie(request); // Extract user ID from session cookie
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session token
         if (userId == null) return ResponseEntity.status(401).build(); // Return 401 if not authenticated
-        List<SpecialCollection> list = specialCollectionService.listUserCollections(userId); // Get user's collections
-        SpecialCollection sc = list.stream().filter(c -> id.equals(c.getId())).findFirst().orElse(null); // Find specific collection
-        if (sc == null) return ResponseEntity.notFound().build(); // Return 404 if collection not found
-        StringBuilder sb = new StringBuilder(); // Build receipt content
-        sb.append("EcoWaste Solutions - Receipt\n");
-        sb.append("==============================\n\n");
-        sb.append("Collection ID: ").append(sc.getId()).append("\n");
-        sb.append("Category: ").append(sc.getCategory()).append("\n");
-        sb.append("Items: ").append(sc.getItems()).append("\n");
-        sb.append("Quantity (kg): ").append(sc.getQuantity()).append("\n");
-        sb.append("Date: ").append(sc.getDate()).append("\n");
-        sb.append("Time Slot: ").append(sc.getTimeSlot()).append("\n");
-        sb.append("Pickup: ").append(sc.getLocation()).append("\n");
-        sb.append("Payment Status: ").append(sc.getPaymentStatus()).append("\n");
-        sb.append(String.format("Amount: LKR %.2f\n\n", sc.getFee()));
-        sb.append("------------------------------\n");
-        sb.append("Thank you for using EcoWaste Solutions.\n");
-        byte[] content = sb.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8); // Convert to bytes
+        Optional<byte[]> content = receiptService.findReceipt(userId, id); // Direct lookup of the user's collection
+        if (content.isEmpty()) return ResponseEntity.notFound().build(); // Return 404 if collection not found
         HttpHeaders headers = new HttpHeaders(); // Set response headers
         headers.setContentType(MediaType.TEXT_PLAIN);
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=receipt-" + sc.getId() + ".txt");
-        return ResponseEntity.ok().headers(headers).body(content); // Return receipt as downloadable file
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=receipt-" + id + ".txt");
+        return ResponseEntity.ok().headers(headers).body(content.get()); // Return receipt as downloadable file
     }
 
-    private String getUserIdFromCookie(HttpServletRequest request) { // Helper method to extract user ID from session cookie
-        Cookie[] cookies = request.getCookies(); // Get all cookies from request
-        if (cookies != null) {
-            for (Cookie c : cookies) { // Loop through all cookies
-                if ("SESSIONID".equals(c.getName()) && c.getValue() != null && !c.getValue().isEmpty()) { // Find SESSIONID cookie
-                    return c.getValue(); // Return user ID from cookie value
-                }
-            }
+    @GetMapping("/statement")
+    public ResponseEntity<StreamingResponseBody> downloadStatement(HttpServletRequest request, @RequestParam("month") String month) { // Download all receipts of a month
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session token
+        if (userId == null) return ResponseEntity.status(401).build(); // Return 401 if not authenticated
+        YearMonth statementMonth; // Month to export
+        try {
+            statementMonth = YearMonth.parse(month); // Expected format yyyy-MM
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build(); // Return 400 on invalid month
         }
-        return null; // Return null if no valid session cookie found
+        StreamingResponseBody body = out -> receiptService.writeStatement(userId, statementMonth, new BufferedOutputStream(out)); // Stream receipts as they are read
+        HttpHeaders headers = new HttpHeaders(); // Set response headers
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=statement-" + statementMonth + ".txt");
+        return ResponseEntity.ok().headers(headers).body(body); // Return statement as downloadable file
     }
 
     @PostMapping("/fee")
@@ -93,7 +90,7 @@ public class SpecialCollectionController {
     @GetMapping("/mine")
     public ResponseEntity<List<SpecialCollection>> myCollections(HttpServletRequest request) { // Get current user's collections
         System.out.println("SpecialCollectionController.myCollections() called");
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         System.out.println("User ID from cookie: " + userId);
         
         if (userId == null) { // Check if user is authenticated
@@ -131,7 +128,7 @@ public class SpecialCollectionController {
     @GetMapping("/map")
     public ResponseEntity<List<SpecialCollection>> getCollectionsForMap(HttpServletRequest request) { // Get collections for map display
         System.out.println("SpecialCollectionController.getCollectionsForMap() called");
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         System.out.println("User ID from cookie: " + userId);
         
         if (userId == null) { // Check if user is authenticated
@@ -145,7 +142,8 @@ public class SpecialCollectionController {
             List<SpecialCollection> mapCollections = allCollections.stream() // Filter collections for map
                 .filter(sc -> sc.getLatitude() != null && sc.getLongitude() != null) // Only collections with coordinates
                 .filter(sc -> !"Collected".equalsIgnoreCase(sc.getStatus()) && // Exclude collected collections
-                             !"Completed".equalsIgnoreCase(sc.getStatus())) // Exclude completed collections
+                             !"Completed".equalsIgnoreCase(sc.getStatus()) && // Exclude completed collections
+                             !"Missed".equalsIgnoreCase(sc.getStatus())) // Exclude missed pickups
                 .collect(Collectors.toList()); // Collect filtered results
             
             System.out.println("Found " + mapCollections.size() + " collections for map (excluding collected)");
@@ -160,7 +158,7 @@ public class SpecialCollectionController {
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats(HttpServletRequest request) { // Get dashboard statistics
         System.out.println("SpecialCollectionController.getDashboardStats() called");
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         System.out.println("User ID from cookie: " + userId);
         
         if (userId == null) { // Check if user is authenticated
@@ -179,6 +177,9 @@ public class SpecialCollectionController {
             long pendingCollections = allCollections.stream() // Count pending collections
                 .filter(sc -> "Pending".equalsIgnoreCase(sc.getStatus()) || "Scheduled".equalsIgnoreCase(sc.getStatus()))
                 .count();
+            long missedCollections = allCollections.stream() // Count missed pickups
+                .filter(sc -> "Missed".equalsIgnoreCase(sc.getStatus()))
+                .count();
             
             // Group collected collections by date
             Map<String, Long> collectedByDate = allCollections.stream() // Group by date
@@ -192,6 +193,7 @@ public class SpecialCollectionController {
             stats.put("totalCollections", totalCollections);
             stats.put("collectedCollections", collectedCollections);
             stats.put("pendingCollections", pendingCollections);
+            stats.put("missedCollections", missedCollections);
             stats.put("collectedByDate", collectedByDate);
             
             System.out.println("Dashboard stats: " + stats);
@@ -206,7 +208,7 @@ public class SpecialCollectionController {
     @GetMapping("/search/{collectionId}")
     public ResponseEntity<Map<String, Object>> searchCollection(@PathVariable String collectionId, HttpServletRequest request) { // Search collection by ID
         System.out.println("SpecialCollectionController.searchCollection() called with ID: " + collectionId);
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         System.out.println("User ID from cookie: " + userId);
         
         if (userId == null) { // Check if user is authenticated
@@ -391,7 +393,7 @@ public class SpecialCollectionController {
 
     @PostMapping("/schedule")
     public ResponseEntity<?> schedule(HttpServletRequest request, @RequestBody ScheduleRequest req) { // Schedule new collection
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         if (userId == null) return ResponseEntity.status(401).body("Not authenticated"); // Return 401 if not authenticated
         
         // Debug: Log the payment method received in controller
@@ -410,14 +412,14 @@ public class SpecialCollectionController {
     @PostMapping("/reschedule/{id}")
     public ResponseEntity<SpecialCollection> reschedule(HttpServletRequest request, @PathVariable("id") String id,
                                                         @RequestBody RescheduleRequest req) { // Reschedule existing collection
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         if (userId == null) return ResponseEntity.status(401).build(); // Return 401 if not authenticated
         return ResponseEntity.ok(specialCollectionService.reschedule(userId, id, req.date, req.timeSlot)); // Reschedule collection
     }
 
     @PostMapping("/pay/{id}")
     public ResponseEntity<?> markPaid(HttpServletRequest request, @PathVariable("id") String id, @RequestBody(required = false) PayRequest payRequest) { // Update payment status
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         if (userId == null) return ResponseEntity.status(401).build(); // Return 401 if not authenticated
         SpecialCollection sc; // Collection to update
         String method = payRequest != null && payRequest.method != null ? payRequest.method.toLowerCase() : "card"; // Get payment method
@@ -518,7 +520,7 @@ public class SpecialCollectionController {
 
 	@PostMapping("/cancel/{id}")
 	public ResponseEntity<?> cancelCollection(HttpServletRequest request, @PathVariable("id") String id) { // Cancel and delete collection
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         if (userId == null) return ResponseEntity.status(401).build(); // Return 401 if not authenticated
         try {
             SpecialCollection sc = specialCollectionService.cancelCollection(userId, id); // Cancel collection via service
@@ -535,7 +537,7 @@ public class SpecialCollectionController {
     @GetMapping("/qr/{id}")
     public ResponseEntity<byte[]> downloadQRCode(HttpServletRequest request, @PathVariable("id") String id) { // Download QR code as PNG file
         System.out.println("QR download endpoint called for collection: " + id);
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         System.out.println("User ID from cookie: " + userId);
         if (userId == null) { // Check if user is authenticated
             System.out.println("No user ID found, returning 401");
@@ -560,7 +562,7 @@ public class SpecialCollectionController {
     @GetMapping("/qr-base64/{id}")
     public ResponseEntity<Map<String, String>> getQRCodeBase64(HttpServletRequest request, @PathVariable("id") String id) { // Get QR code as base64 string
         System.out.println("QR base64 endpoint called for collection: " + id);
-        String userId = getUserIdFromCookie(request); // Extract user ID from session
+        String userId = SessionUser.userIdOf(request); // Extract user ID from session
         System.out.println("User ID from cookie: " + userId);
         if (userId == null) { // Check if user is authenticated
             System.out.println("No user ID found, returning 401");
@@ -609,4 +611,3 @@ public class SpecialCollectionController {
     }
 }
 
-
@@ -0,0 +1,50 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SessionUser;
+import com.example.backend.model.Tariff;
+import com.example.backend.service.TariffService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tariffs")
+public class TariffController {
+
+    private final TariffService tariffService;
+
+    public TariffController(TariffService tariffService) {
+        this.tariffService = tariffService;
+    }
+
+    /** Get the tariff currently used for pricing */
+    @GetMapping("/current")
+    public ResponseEntity<Tariff> getCurrentTariff() {
+        long version = tariffService.current().getVersion();
+        return tariffService.findByVersion(version)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** Get a specific tariff version, e.g. the one recorded on a priced record */
+    @GetMapping("/{version}")
+    public ResponseEntity<Tariff> getTariff(@PathVariable long version) {
+        return tariffService.findByVersion(version)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** Publish new rates as the next tariff version */
+    @PostMapping
+    public ResponseEntity<?> publishTariff(HttpServletRequest request, @RequestBody Tariff rates) {
+        SessionUser session = SessionUser.from(request);
+        if (session == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        if (!session.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Only administrators can publish tariffs"));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(tariffService.publish(rates, session.getUserId()));
+    }
+}
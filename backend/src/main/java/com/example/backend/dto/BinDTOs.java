@@ -0,0 +1,48 @@
+package com.example.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class BinDTOs {
+
+    public static class BinMarker {
+        public String accountId;
+        public double latitude;
+        public double longitude;
+        public double capacity; // fill level, 0 to 100
+    }
+
+    public static class BinPage {
+        public List<BinMarker> bins;
+        public int page;
+        public int size;
+        public boolean hasMore; // true when a further page exists
+    }
+
+    public static class FillLevelPoint {
+        public Instant time;
+        public double level; // percent
+    }
+
+    public static class FillLevelSample {
+        public Instant start; // the interval runs from start for one step
+        public int readings;
+        public double average;
+        public double min;
+        public double max;
+    }
+
+    public static class SensorReading {
+        public String accountId;
+        public double level; // percent
+        public Instant time; // when the bin was measured; the receipt time if left out
+    }
+
+    public static class BinAlert {
+        public String accountId;
+        public double latitude;
+        public double longitude;
+        public Double capacity; // percent; null on a cleared alert
+        public Instant since; // when the bin became full, or when it was cleared
+    }
+}
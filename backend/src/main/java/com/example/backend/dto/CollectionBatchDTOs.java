@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.util.Map;
+
+public class CollectionBatchDTOs {
+
+    public static class BatchResponse {
+        public String acks; // one character per record, in request order: S stored, D duplicate, R rejected
+        public Map<Integer, String> errors; // reasons for rejected records, by index
+        public int stored;
+        public int duplicates;
+        public int rejected;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.backend.dto;
 
+import java.time.Instant;
+
 /**
  * DTO for collection request data
  * Single Responsibility: Data transfer for collection requests
@@ -12,6 +14,8 @@ public class CollectionRequestDTO {
     private String wasteType;
     private LocationDTO location;
     private String collectorId;
+    private String clientId; // ID generated on the collector's device; required for batch sync
+    private Instant collectedAt; // when the collector recorded it, for records synced later
     
     // Constructors
     public CollectionRequestDTO() {}
@@ -49,6 +53,12 @@ public class CollectionRequestDTO {
     public String getCollectorId() { return collectorId; }
     public void setCollectorId(String collectorId) { this.collectorId = collectorId; }
     
+    public String getClientId() { return clientId; }
+    public void setClientId(String clientId) { this.clientId = clientId; }
+    
+    public Instant getCollectedAt() { return collectedAt; }
+    public void setCollectedAt(Instant collectedAt) { this.collectedAt = collectedAt; }
+    
     /**
      * Inner class for location data
      */
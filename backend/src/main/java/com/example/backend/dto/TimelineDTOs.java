@@ -0,0 +1,33 @@
+package com.example.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class TimelineDTOs {
+
+    public static class TimelineEntry {
+        public String type;        // WASTE, SPECIAL_COLLECTION or WALLET
+        public String id;          // id of the underlying record
+        public Instant timestamp;  // when the activity happened
+        public String description; // short human readable summary
+        public String status;      // record status, or CREDIT/DEBIT for wallet entries
+        public Double amount;      // payback, fee or points depending on type
+
+        public TimelineEntry() {
+        }
+
+        public TimelineEntry(String type, String id, Instant timestamp, String description, String status, Double amount) {
+            this.type = type;
+            this.id = id;
+            this.timestamp = timestamp;
+            this.description = description;
+            this.status = status;
+            this.amount = amount;
+        }
+    }
+
+    public static class TimelinePage {
+        public List<TimelineEntry> entries;
+        public String nextCursor; // null when the timeline has no more entries
+    }
+}
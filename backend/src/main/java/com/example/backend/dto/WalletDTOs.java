@@ -0,0 +1,13 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.WalletTransaction;
+
+import java.util.List;
+
+public class WalletDTOs {
+
+    public static class TransactionPage {
+        public List<WalletTransaction> transactions; // newest first
+        public String nextCursor; // null when there are no older transactions
+    }
+}
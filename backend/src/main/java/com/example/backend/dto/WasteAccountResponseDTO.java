@@ -2,7 +2,6 @@ package com.example.backend.dto;
 
 public class WasteAccountResponseDTO {
     private String accountId;
-    private String qrCode;
     private LocationDTO location;
     private String createdAt;
     private double capacity;
@@ -10,17 +9,15 @@ public class WasteAccountResponseDTO {
     public WasteAccountResponseDTO() {
     }
 
-    public WasteAccountResponseDTO(String accountId, String qrCode, LocationDTO location, String createdAt) {
+    public WasteAccountResponseDTO(String accountId, LocationDTO location, String createdAt) {
         this.accountId = accountId;
-        this.qrCode = qrCode;
         this.location = location;
         this.createdAt = createdAt;
         this.capacity = 0.0;
     }
 
-    public WasteAccountResponseDTO(String accountId, String qrCode, LocationDTO location, String createdAt, double capacity) {
+    public WasteAccountResponseDTO(String accountId, LocationDTO location, String createdAt, double capacity) {
         this.accountId = accountId;
-        this.qrCode = qrCode;
         this.location = location;
         this.createdAt = createdAt;
         this.capacity = capacity;
@@ -93,14 +90,6 @@ public class WasteAccountResponseDTO {
         this.accountId = accountId;
     }
 
-    public String getQrCode() {
-        return qrCode;
-    }
-
-    public void setQrCode(String qrCode) {
-        this.qrCode = qrCode;
-    }
-
     public LocationDTO getLocation() {
         return location;
     }
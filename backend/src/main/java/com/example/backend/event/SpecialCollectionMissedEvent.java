@@ -0,0 +1,39 @@
+package com.example.backend.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after the overdue sweeper moves a special collection from
+ * Pending/Scheduled to Missed because its pickup date has passed.
+ */
+public class SpecialCollectionMissedEvent extends ApplicationEvent {
+
+    private final String collectionId;
+    private final String userId;
+    private final String date;
+    private final String timeSlot;
+
+    public SpecialCollectionMissedEvent(Object source, String collectionId, String userId, String date, String timeSlot) {
+        super(source);
+        this.collectionId = collectionId;
+        this.userId = userId;
+        this.date = date;
+        this.timeSlot = timeSlot;
+    }
+
+    public String getCollectionId() {
+        return collectionId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getTimeSlot() {
+        return timeSlot;
+    }
+}
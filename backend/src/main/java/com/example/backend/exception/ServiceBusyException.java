@@ -0,0 +1,15 @@
+package com.example.backend.exception;
+
+// Thrown when a bounded worker pool is full; answered with 503 and a Retry-After hint
+public class ServiceBusyException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -35,6 +36,7 @@ public class Collection {
     @Field("status")
     private String status = "collected"; // Collection status
     
+    @Indexed(name = "created_at_idx") // date-range exports
     @Field("created_at")
     private Instant createdAt = Instant.now();
     
@@ -0,0 +1,29 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running collection counters of one collector for one UTC day, plus one lifetime document per collector (day = "total")
+@Document(collection = "collector_daily_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CollectorDailyStats {
+    @Id
+    private String id; // collectorId|yyyy-MM-dd or collectorId|total
+    private String collectorId;
+    private String day; // yyyy-MM-dd (UTC) or "total"
+    private int count;
+    private double weight; // kg
+    private Map<String, Integer> hours; // collections per UTC hour ("0" to "23"); not kept on the total document
+    private Instant rebuiltAt; // set when the counters were recomputed from the collections
+}
@@ -0,0 +1,29 @@
+package com.example.backend.model;
+
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One UTC day of fill-level readings for a bin; readings are packed by FillLevelReadings and only ever appended
+@Document(collection = "bin_fill_levels")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FillLevelBucket {
+    @Id
+    private String id; // accountId|yyyy-MM-dd, so one account's days sort together under the _id index
+    private String accountId;
+    private String day; // yyyy-MM-dd (UTC)
+    private List<Integer> readings; // packed second-of-day and level, in arrival order
+    private int count;
+    private long sum; // level total in hundredths of a percent, for the daily average
+    private int min;
+    private int max;
+}
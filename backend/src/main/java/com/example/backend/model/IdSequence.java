@@ -0,0 +1,19 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Shared counter that nodes lease blocks of IDs from; id is the sequence name, next the first value not yet leased
+@Document(collection = "id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSequence {
+    @Id
+    private String id;
+    private long next;
+}
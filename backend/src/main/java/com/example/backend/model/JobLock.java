@@ -0,0 +1,23 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lease held by the node running a scheduled job; id is the job name, free again once lockedUntil has passed
+@Document(collection = "job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLock {
+    @Id
+    private String id;
+    private String owner;
+    private Instant lockedUntil;
+    private Instant lockedAt;
+}
@@ -0,0 +1,46 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Catalogue item that residents can redeem with wallet points
+@Document(collection = "rewards")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Reward {
+    @Id
+    private String id;
+    private String name;
+    private String description;
+    private String category; // e.g. Voucher, Compost Bag
+    private int pointsCost;
+    private int stock; // units not yet leased by any server, only changed with conditional $inc
+    private boolean active;
+    private Instant createdAt;
+    private String createdBy;
+    @JsonIgnore
+    private List<StockLease> leases; // blocks of stock held by servers, so a crashed server's units can be reclaimed
+
+    // Units one server took off stock under one lease id; redemptions record the lease id they sold from
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockLease {
+        private String leaseId;
+        private String node;
+        private int units;
+        private Instant renewedAt;
+    }
+}
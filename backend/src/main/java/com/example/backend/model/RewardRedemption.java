@@ -0,0 +1,32 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One redeemed reward; points were deducted from the user's wallet
+@Document(collection = "reward_redemptions")
+@CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RewardRedemption {
+    @Id
+    private String id;
+    private String userId;
+    private String rewardId;
+    private String rewardName;
+    private int pointsSpent;
+    private Instant createdAt;
+    @Indexed(name = "lease_idx", sparse = true) // counts units sold from a lease when reclaiming it
+    private String leaseId;
+}
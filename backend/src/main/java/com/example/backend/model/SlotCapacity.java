@@ -0,0 +1,25 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Booked count of one special collection slot; id is "<date>|<timeSlot>"
+@Document(collection = "slot_capacity")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotCapacity {
+    @Id
+    private String id;
+    private String date; // yyyy-MM-dd
+    private String timeSlot; // Morning / Afternoon
+    private int booked;
+
+    public static String idFor(String date, String timeSlot) {
+        return date + "|" + timeSlot;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.model;
 import com.example.backend.model.enums.*;
 import com.example.backend.model.valueobjects.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,11 @@ import java.time.LocalDateTime;
  * - All existing getters/setters work exactly as before
  */
 @Document(collection = "special_collections")
+@CompoundIndex(name = "user_date_idx", def = "{'userId': 1, 'date': 1}")
+@CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "status_date_idx", def = "{'status': 1, 'date': 1}")
+@CompoundIndex(name = "date_slot_idx", def = "{'date': 1, 'timeSlot': 1}")
+@CompoundIndex(name = "created_idx", def = "{'createdAt': 1, '_id': 1}")
 public class SpecialCollection {
     @Id
     private String id;
@@ -25,6 +31,7 @@ public class SpecialCollection {
     private String items; // short description or JSON string
     private int quantity;
     private double fee;
+    private Long tariffVersion; // Tariff version the fee was priced with
     private String date; // yyyy-MM-dd
     private String timeSlot; // Morning / Afternoon
     private String location;
@@ -37,6 +44,7 @@ public class SpecialCollection {
     private String qrCodeData; // QR code data for collection verification
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime collectedAt; // When the collection was completed
+    private LocalDateTime missedAt; // When the overdue sweeper marked the pickup as missed
 
     // Internal type-safe representations (not stored in DB, not serialized)
     private transient WasteCategory categoryEnum;
@@ -135,6 +143,14 @@ public class SpecialCollection {
         this.feeObject = new Money(fee);
     }
 
+    public Long getTariffVersion() {
+        return tariffVersion;
+    }
+
+    public void setTariffVersion(Long tariffVersion) {
+        this.tariffVersion = tariffVersion;
+    }
+
     // Type-safe fee access
     public Money getFeeObject() {
         if (feeObject == null) {
@@ -337,6 +353,14 @@ public class SpecialCollection {
         this.collectedAt = collectedAt;
     }
 
+    public LocalDateTime getMissedAt() {
+        return missedAt;
+    }
+
+    public void setMissedAt(LocalDateTime missedAt) {
+        this.missedAt = missedAt;
+    }
+
     // ========== QR CODE METHODS ==========
     
     public String getQrCodeData() {
@@ -0,0 +1,32 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One immutable version of the price tables; a change is published as a new version
+@Document(collection = "tariffs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Tariff {
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private long version;
+    private Map<String, Double> recyclableRates; // payback per kg, keyed by recyclable category
+    private double defaultRecyclableRate;
+    private Map<String, Double> specialCollectionRates; // fee per kg, keyed by special collection category
+    private double defaultSpecialCollectionRate;
+    private Instant createdAt;
+    private String createdBy;
+}
@@ -3,6 +3,7 @@ package com.example.backend.model;
 import java.time.Instant;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// One pending code per email; Mongo's TTL monitor removes the document once expiresAt has passed
 @Document(collection = "verification_tokens")
 @Data
 @NoArgsConstructor
@@ -17,7 +19,10 @@ import lombok.NoArgsConstructor;
 @Builder
 public class VerificationToken {
     @Id
-    private String id; // token string
-    private String email;
+    private String id; // email the code was sent to
+    private String codeHash; // salted SHA-256 of the code, never the code itself
+    private String salt;
+    private int attempts; // guesses so far, claimed atomically before each check
+    @Indexed(name = "expires_ttl_idx", expireAfterSeconds = 0)
     private Instant expiresAt;
 }
@@ -0,0 +1,32 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One month of a user's wallet ledger rolled up by the compactor; the entries themselves are in wallet_ledger_archive
+@Document(collection = "wallet_ledger_summaries")
+@CompoundIndex(name = "user_month_idx", def = "{'userId': 1, 'month': -1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletLedgerSummary {
+    @Id
+    private String id; // userId:yyyy-MM
+    private String userId;
+    private String month; // yyyy-MM (UTC)
+    private int credited;
+    private int debited; // positive total of the debits
+    private int net;
+    private int entryCount;
+    private Integer closingBalance; // balance after the month's last entry, null when unknown
+    private Instant compactedAt;
+}
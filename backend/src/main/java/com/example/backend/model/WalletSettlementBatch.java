@@ -0,0 +1,33 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Checkpoint of one wallet settlement run; the state only moves forward
+@Document(collection = "wallet_settlement_batches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletSettlementBatch {
+    public static final String CLAIMING = "CLAIMING"; // batch created, waste records being tagged; only its node may advance it until the claim times out
+    public static final String CLAIMED = "CLAIMED";   // waste records tagged with this batch, wallets not credited yet
+    public static final String APPLIED = "APPLIED";   // wallets credited and ledger written, waste records not marked yet
+    public static final String DONE = "DONE";
+
+    @Id
+    private String id;
+    private String state;
+    private int wasteCount;
+    private int userCount;
+    private long totalPoints;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,96 @@
+package com.example.backend.model;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+import java.time.Instant;
+
+// One entry of the append-only wallet ledger. Entries are never updated;
+// the wallet keeps the running balance.
+@Document(collection = "wallet_ledger")
+@CompoundIndex(name = "user_timestamp_idx", def = "{'userId': 1, 'timestamp': -1, '_id': -1}")
+public class WalletTransaction {
+    public static final String CREDIT = "CREDIT";
+    public static final String DEBIT = "DEBIT";
+
+    @MongoId(FieldType.STRING)
+    private String id;
+    private String userId;
+    private Integer amount; // positive for credits, negative for debits
+    private String description;
+    private String type; // CREDIT or DEBIT
+    private Integer balanceAfter; // wallet balance right after this entry, null for migrated entries
+    private Instant timestamp;
+
+    public WalletTransaction() {
+    }
+
+    public WalletTransaction(String id, String userId, Integer amount, String description, String type,
+                             Integer balanceAfter, Instant timestamp) {
+        this.id = id;
+        this.userId = userId;
+        this.amount = amount;
+        this.description = description;
+        this.type = type;
+        this.balanceAfter = balanceAfter;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Integer getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Integer amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(Integer balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+}
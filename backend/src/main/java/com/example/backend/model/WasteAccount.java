@@ -1,17 +1,22 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import java.time.Instant;
 
+// Bin map queries select a latitude/longitude box, so the coordinates are indexed together
 @Document(collection = "waste_accounts")
+@CompoundIndex(name = "location_idx", def = "{'location.latitude': 1, 'location.longitude': 1}")
 public class WasteAccount {
     @Id
     private String id;
     
+    @Indexed(name = "account_id_idx", unique = true)
     @Field("account_id")
-    private String accountId; // Auto-generated unique account ID
+    private String accountId; // Allocated by AccountIdGenerator; the unique index rejects a duplicate instead of letting findByAccountId break
     
     @Field("user_id")
     private String userId; // Reference to User
@@ -20,7 +25,7 @@ public class WasteAccount {
     private Location location;
     
     @Field("qr_code")
-    private String qrCode; // Base64 encoded QR code
+    private String qrCode; // Base64 QR code stored by older accounts; new codes are rendered on request
     
     @Field("created_at")
     private Instant createdAt;
@@ -28,8 +33,12 @@ public class WasteAccount {
     @Field("is_active")
     private boolean isActive = true;
     
+    @Indexed(name = "capacity_idx")
     @Field("capacity")
-    private double capacity = 0.0; // Capacity percentage (0.0 to 100.0)
+    private double capacity = 0.0; // Latest capacity percentage (0.0 to 100.0); the history is in bin_fill_levels
+    
+    @Field("capacity_updated_at")
+    private Instant capacityUpdatedAt;
 
     // Default constructor
     public WasteAccount() {
@@ -169,4 +178,12 @@ public class WasteAccount {
     public void setCapacity(double capacity) {
         this.capacity = capacity;
     }
+
+    public Instant getCapacityUpdatedAt() {
+        return capacityUpdatedAt;
+    }
+
+    public void setCapacityUpdatedAt(Instant capacityUpdatedAt) {
+        this.capacityUpdatedAt = capacityUpdatedAt;
+    }
 }
@@ -9,7 +9,8 @@ public enum CollectionStatus {
     SCHEDULED("Scheduled"),
     COLLECTED("Collected"),
     COMPLETED("Completed"),
-    CANCELLED("Cancelled");
+    CANCELLED("Cancelled"),
+    MISSED("Missed"); // pickup date passed while still pending/scheduled
 
     private final String displayName;
 
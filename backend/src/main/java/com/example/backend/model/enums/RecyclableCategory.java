@@ -0,0 +1,47 @@
+package com.example.backend.model.enums;
+
+/**
+ * Internal enum for recyclable waste categories - used for type safety internally
+ * while maintaining string compatibility for external APIs
+ */
+public enum RecyclableCategory {
+    E_WASTE("E-waste"),
+    PLASTIC("Plastic"),
+    GLASS("Glass"),
+    ALUMINUM("Aluminum"),
+    PAPER_CARDBOARD("Paper/Cardboard");
+
+    // Cached copy of values(), which clones the array on every call
+    private static final RecyclableCategory[] VALUES = values();
+
+    private final String displayName;
+
+    RecyclableCategory(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Safely converts string to enum, returns null if invalid.
+     * Matching is case-insensitive and allocation free.
+     */
+    public static RecyclableCategory fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (RecyclableCategory category : VALUES) {
+            if (category.displayName.equalsIgnoreCase(value) || category.name().equalsIgnoreCase(value)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -12,6 +12,9 @@ public enum WasteCategory {
     RECYCLABLE("Recyclable"),
     OTHER("Other");
 
+    // Cached copy of values(), which clones the array on every call
+    private static final WasteCategory[] VALUES = values();
+
     private final String displayName;
 
     WasteCategory(String displayName) {
@@ -32,7 +35,7 @@ public enum WasteCategory {
         }
         
         String normalizedValue = value.trim();
-        for (WasteCategory category : values()) {
+        for (WasteCategory category : VALUES) {
             if (category.displayName.equalsIgnoreCase(normalizedValue) || 
                 category.name().equalsIgnoreCase(normalizedValue)) {
                 return category;
@@ -0,0 +1,124 @@
+package com.example.backend.model.valueobjects;
+
+import com.example.backend.model.Tariff;
+import com.example.backend.model.enums.RecyclableCategory;
+import com.example.backend.model.enums.WasteCategory;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable, compiled view of one tariff version.
+ * Rates are held in arrays indexed by enum ordinal, so a lookup is a
+ * case-insensitive enum match plus an array read, without allocating.
+ */
+public final class TariffSnapshot {
+
+    private final long version;
+    private final double[] recyclableRates;
+    private final double defaultRecyclableRate;
+    private final double[] specialCollectionRates;
+    private final double defaultSpecialCollectionRate;
+
+    private TariffSnapshot(long version, double[] recyclableRates, double defaultRecyclableRate,
+                           double[] specialCollectionRates, double defaultSpecialCollectionRate) {
+        this.version = version;
+        this.recyclableRates = recyclableRates;
+        this.defaultRecyclableRate = defaultRecyclableRate;
+        this.specialCollectionRates = specialCollectionRates;
+        this.defaultSpecialCollectionRate = defaultSpecialCollectionRate;
+    }
+
+    /**
+     * The rates that were hard-coded before tariffs were stored; published as version 1.
+     */
+    public static Tariff initialTariff() {
+        Map<String, Double> recyclable = new LinkedHashMap<>();
+        recyclable.put(RecyclableCategory.E_WASTE.getDisplayName(), 15.00);
+        recyclable.put(RecyclableCategory.PLASTIC.getDisplayName(), 8.00);
+        recyclable.put(RecyclableCategory.GLASS.getDisplayName(), 6.00);
+        recyclable.put(RecyclableCategory.ALUMINUM.getDisplayName(), 12.00);
+        recyclable.put(RecyclableCategory.PAPER_CARDBOARD.getDisplayName(), 4.00);
+
+        Map<String, Double> special = new LinkedHashMap<>();
+        special.put(WasteCategory.BULKY.getDisplayName(), 120.0);
+        special.put(WasteCategory.HAZARDOUS.getDisplayName(), 140.0);
+        special.put(WasteCategory.ORGANIC.getDisplayName(), 80.0);
+        special.put(WasteCategory.E_WASTE.getDisplayName(), 130.0);
+        special.put(WasteCategory.RECYCLABLE.getDisplayName(), 40.0);
+        special.put(WasteCategory.OTHER.getDisplayName(), 100.0);
+
+        return Tariff.builder()
+                .version(1)
+                .recyclableRates(recyclable)
+                .defaultRecyclableRate(5.00)
+                .specialCollectionRates(special)
+                .defaultSpecialCollectionRate(120.0)
+                .createdAt(Instant.EPOCH)
+                .createdBy("system")
+                .build();
+    }
+
+    /**
+     * Compiles a stored tariff. Categories missing from the tariff fall back to its default rate.
+     *
+     * @throws IllegalArgumentException if the tariff names an unknown category or a negative rate
+     */
+    public static TariffSnapshot compile(Tariff tariff) {
+        double[] recyclable = new double[RecyclableCategory.values().length];
+        Arrays.fill(recyclable, requireRate("default recyclable", tariff.getDefaultRecyclableRate()));
+        if (tariff.getRecyclableRates() != null) {
+            for (Map.Entry<String, Double> entry : tariff.getRecyclableRates().entrySet()) {
+                RecyclableCategory category = RecyclableCategory.fromString(entry.getKey());
+                if (category == null) {
+                    throw new IllegalArgumentException("Unknown recyclable category: " + entry.getKey());
+                }
+                recyclable[category.ordinal()] = requireRate(entry.getKey(), entry.getValue());
+            }
+        }
+
+        double[] special = new double[WasteCategory.values().length];
+        Arrays.fill(special, requireRate("default special collection", tariff.getDefaultSpecialCollectionRate()));
+        if (tariff.getSpecialCollectionRates() != null) {
+            for (Map.Entry<String, Double> entry : tariff.getSpecialCollectionRates().entrySet()) {
+                WasteCategory category = WasteCategory.fromString(entry.getKey());
+                if (category == null) {
+                    throw new IllegalArgumentException("Unknown special collection category: " + entry.getKey());
+                }
+                special[category.ordinal()] = requireRate(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return new TariffSnapshot(tariff.getVersion(), recyclable, tariff.getDefaultRecyclableRate(),
+                special, tariff.getDefaultSpecialCollectionRate());
+    }
+
+    private static double requireRate(String name, Double rate) {
+        if (rate == null || rate < 0 || rate.isNaN() || rate.isInfinite()) {
+            throw new IllegalArgumentException("Invalid rate for " + name + ": " + rate);
+        }
+        return rate;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Payback rate per kg for a recyclable category; unknown categories get the default rate.
+     */
+    public double recyclableRate(String category) {
+        RecyclableCategory match = RecyclableCategory.fromString(category);
+        return match == null ? defaultRecyclableRate : recyclableRates[match.ordinal()];
+    }
+
+    /**
+     * Special collection fee per kg for a category; unknown categories get the default rate.
+     */
+    public double specialCollectionRate(String category) {
+        WasteCategory match = WasteCategory.fromString(category);
+        return match == null ? defaultSpecialCollectionRate : specialCollectionRates[match.ordinal()];
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Collection;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CollectionRepository extends MongoRepository<Collection, String> {
@@ -23,4 +26,9 @@ public interface CollectionRepository extends MongoRepository<Collection, String
     
     // Find collections by date range (using createdAt)
     List<Collection> findByCreatedAtBetween(java.time.Instant startDate, java.time.Instant endDate);
+    
+    // Collections with from <= createdAt < to, oldest first, read through a cursor; backed by the created_at index
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{ 'created_at': { $gte: ?0, $lt: ?1 } }", sort = "{ 'created_at': 1, '_id': 1 }")
+    Stream<Collection> streamByCreatedAt(java.time.Instant from, java.time.Instant to);
 }
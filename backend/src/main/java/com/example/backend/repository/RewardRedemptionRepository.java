@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.RewardRedemption;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RewardRedemptionRepository extends MongoRepository<RewardRedemption, String> {
+    List<RewardRedemption> findByUserIdOrderByCreatedAtDesc(String userId);
+}
@@ -1,14 +1,29 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.SpecialCollection;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface SpecialCollectionRepository extends MongoRepository<SpecialCollection, String> {
     List<SpecialCollection> findByUserId(String userId);
     List<SpecialCollection> findByDateAndTimeSlot(String date, String timeSlot);
+    long countByDateAndTimeSlot(String date, String timeSlot);
     boolean existsByUserIdAndPaymentStatus(String userId, String paymentStatus);
-}
+    Optional<SpecialCollection> findByIdAndUserId(String id, String userId);
 
+    // Collections of a user with from <= date < to, ordered by date; backed by the userId/date index
+    @Query(value = "{ 'userId': ?0, 'date': { $gte: ?1, $lt: ?2 } }", sort = "{ 'date': 1 }")
+    Stream<SpecialCollection> streamStatement(String userId, String fromDate, String toDate);
 
+    // Bookings with from <= createdAt < to, oldest first, read through a cursor; backed by the createdAt index
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{ 'createdAt': { $gte: ?0, $lt: ?1 } }", sort = "{ 'createdAt': 1, '_id': 1 }",
+            fields = "{ 'qrCodeData': 0 }")
+    Stream<SpecialCollection> streamByCreatedAt(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,16 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Tariff;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Optional;
+
+public interface TariffRepository extends MongoRepository<Tariff, String> {
+    Optional<Tariff> findByVersion(long version);
+    Optional<Tariff> findTopByOrderByVersionDesc();
+
+    // Only the version of the newest tariff, used to detect changes cheaply
+    @Query(value = "{}", fields = "{ 'version': 1 }", sort = "{ 'version': -1 }")
+    Optional<Tariff> findLatestVersion();
+}
@@ -1,14 +1,9 @@
 package com.example.backend.repository;
 
-import java.util.Optional;
-
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.example.backend.model.VerificationToken;
 
 public interface VerificationTokenRepository extends MongoRepository<VerificationToken, String> {
-    // Custom query methods (if needed) can be defined here
-    Optional<VerificationToken> findById(String id);
-
-    void deleteByEmail(String email);
+    // Tokens are keyed by email, so findById/deleteById cover every lookup
 }
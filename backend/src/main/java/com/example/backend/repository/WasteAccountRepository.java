@@ -10,4 +10,5 @@ public interface WasteAccountRepository extends MongoRepository<WasteAccount, St
     Optional<WasteAccount> findByUserId(String userId);
     Optional<WasteAccount> findByAccountId(String accountId);
     boolean existsByUserId(String userId);
+    boolean existsByAccountId(String accountId);
 }
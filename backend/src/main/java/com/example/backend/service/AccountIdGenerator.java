@@ -1,22 +1,64 @@
 package com.example.backend.service;
 
+import com.example.backend.model.IdSequence;
+import com.example.backend.util.AccountIdCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import java.util.UUID;
 
 /**
  * Service responsible for generating unique account IDs
  * Single Responsibility: Account ID generation logic
+ *
+ * IDs come from a hi/lo allocator: each node leases a contiguous block of
+ * sequence numbers from the shared "waste_account" sequence with one atomic
+ * $inc, then hands them out from memory. Blocks never overlap, so IDs are
+ * unique without a database round trip per ID; numbers left in a block when
+ * a node stops are simply skipped. Each number is encoded by AccountIdCodec.
  */
 @Service
 public class AccountIdGenerator {
     
-    private static final String ACCOUNT_PREFIX = "WA";
+    static final String SEQUENCE = "waste_account";
+    
+    private final MongoTemplate mongoTemplate;
+    private final int blockSize;
+    private long next; // guarded by this
+    private long blockEnd; // exclusive; guarded by this
+    
+    public AccountIdGenerator(MongoTemplate mongoTemplate,
+                              @Value("${app.accounts.id-block-size:100}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("app.accounts.id-block-size must be greater than 0");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = blockSize;
+    }
     
     /**
      * Generates a unique account ID with prefix "WA" (Waste Account)
      */
-    public String generateAccountId() {
-        String uuid = UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
-        return ACCOUNT_PREFIX + uuid;
+    public synchronized String generateAccountId() {
+        if (next >= blockEnd) {
+            leaseBlock();
+        }
+        return AccountIdCodec.encode(next++);
+    }
+    
+    private void leaseBlock() {
+        IdSequence sequence = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(SEQUENCE)),
+                new Update().inc("next", blockSize),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                IdSequence.class);
+        if (sequence == null || sequence.getNext() > AccountIdCodec.MAX_VALUE + 1) {
+            throw new IllegalStateException("Account ID sequence is exhausted");
+        }
+        blockEnd = sequence.getNext();
+        next = blockEnd - blockSize;
     }
 }
@@ -0,0 +1,110 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.TimelineDTOs.TimelineEntry;
+import com.example.backend.dto.TimelineDTOs.TimelinePage;
+import com.example.backend.exception.CustomException;
+import com.example.backend.util.TimelineCursor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Resident activity timeline.
+ * Single Responsibility: k-way merges the index-ordered cursors of every
+ * TimelineSource into one newest-first page.
+ */
+@Service
+public class ActivityTimelineService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<Head> NEWEST_FIRST = Comparator
+            .comparing((Head h) -> h.entry.timestamp).reversed()
+            .thenComparing(h -> h.source.getKey());
+
+    private final List<TimelineSource> sources;
+
+    public ActivityTimelineService(List<TimelineSource> sources) {
+        this.sources = sources;
+    }
+
+    /** Get one page of the user's timeline, continuing from the given cursor */
+    public TimelinePage getTimeline(String userId, String cursorValue, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TimelineCursor cursor;
+        try {
+            cursor = TimelineCursor.decode(cursorValue);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(e.getMessage());
+        }
+        for (TimelineSource source : sources) {
+            TimelineCursor.Position position = cursor.position(source.getKey());
+            if (position != null && !cursor.isExhausted(source.getKey()) && !source.isValidId(position.getId())) {
+                throw new CustomException("Invalid timeline cursor");
+            }
+        }
+
+        // Each source fetches a small batch per round trip, so a page reads roughly its own rows
+        int batchSize = pageSize / sources.size() + 1;
+        List<Stream<TimelineEntry>> open = new ArrayList<>();
+        PriorityQueue<Head> heads = new PriorityQueue<>(NEWEST_FIRST);
+        List<TimelineEntry> entries = new ArrayList<>(pageSize);
+        try {
+            for (TimelineSource source : sources) {
+                if (cursor.isExhausted(source.getKey())) continue;
+                Stream<TimelineEntry> stream = source.stream(userId, cursor.position(source.getKey()), pageSize, batchSize);
+                open.add(stream);
+                Head head = new Head(source, stream.iterator());
+                if (head.advance()) {
+                    heads.add(head);
+                } else {
+                    cursor.exhaust(source.getKey());
+                }
+            }
+
+            while (entries.size() < pageSize && !heads.isEmpty()) {
+                Head head = heads.poll();
+                entries.add(head.entry);
+                cursor.advance(head.source.getKey(), head.entry.timestamp, head.entry.id);
+                if (head.advance()) {
+                    heads.add(head);
+                } else if (head.read < pageSize) { // source ran out before its limit, nothing left to read
+                    cursor.exhaust(head.source.getKey());
+                }
+            }
+        } finally {
+            open.forEach(Stream::close);
+        }
+
+        TimelinePage page = new TimelinePage();
+        page.entries = entries;
+        boolean hasMore = sources.stream().anyMatch(s -> !cursor.isExhausted(s.getKey()));
+        page.nextCursor = hasMore ? cursor.encode() : null;
+        return page;
+    }
+
+    // Current entry of one source in the merge
+    private static final class Head {
+        private final TimelineSource source;
+        private final Iterator<TimelineEntry> iterator;
+        private TimelineEntry entry;
+        private int read;
+
+        private Head(TimelineSource source, Iterator<TimelineEntry> iterator) {
+            this.source = source;
+            this.iterator = iterator;
+        }
+
+        private boolean advance() {
+            if (!iterator.hasNext()) return false;
+            entry = iterator.next();
+            read++;
+            return true;
+        }
+    }
+}
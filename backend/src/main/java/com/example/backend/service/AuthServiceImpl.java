@@ -11,14 +11,25 @@ import com.example.backend.model.VerificationToken;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.VerificationTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.Random;
+import java.util.HexFormat;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int MAX_VERIFICATION_ATTEMPTS = 5;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -28,7 +39,14 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private EmailService emailService;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService; // BCrypt runs on its own bounded pool, not on request threads
+
+    @Autowired
+    private UserLookupService userLookupService; // Memoised reads; sessions are verified from the token, so this only serves full-profile reads
 
     @Override
     public User registerStep1(RegisterStep1DTO step1DTO) {
@@ -55,9 +73,11 @@ public class AuthServiceImpl implements AuthService {
             throw new CustomException("Email not verified");
         }
 
-        user.setPassword(passwordEncoder.encode(step2DTO.getPassword()));
+        user.setPassword(passwordHashingService.hash(step2DTO.getPassword()));
         user.setRole("USER"); // Default role for regular users
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userLookupService.evict(userId);
+        return saved;
     }
 
     @Override
@@ -89,7 +109,7 @@ public class AuthServiceImpl implements AuthService {
         // Regular user login
         User user = userRepository.findByEmail(loginDTO.getEmail())
                 .orElseThrow(() -> new CustomException("Invalid email or password"));
-        if (!passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(loginDTO.getPassword(), user.getPassword())) {
             throw new CustomException("Invalid email or password");
         }
         return user;
@@ -97,23 +117,22 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public User findUserById(String id) {
-        return userRepository.findById(id).orElse(null);
+        return userLookupService.findById(id).orElse(null);
     }
 
     @Override
     public void sendVerificationCode(String email) {
         // Generate 4-digit random code
-        Random random = new Random();
-        String code = String.format("%04d", random.nextInt(10000));
-
-        // Delete any existing verification tokens for this email
-        verificationTokenRepository.deleteByEmail(email);
+        String code = String.format("%04d", SECURE_RANDOM.nextInt(10000));
+        String salt = newSalt();
 
-        // Create new verification token
+        // Keyed by email, so this replaces any earlier code for the address in one write
         VerificationToken token = VerificationToken.builder()
-                .id(code)
-                .email(email)
-                .expiresAt(Instant.now().plusSeconds(600)) // 10 minutes
+                .id(email)
+                .codeHash(hashVerificationCode(salt, code))
+                .salt(salt)
+                .attempts(0)
+                .expiresAt(Instant.now().plusSeconds(600)) // 10 minutes, enforced by the TTL index
                 .build();
 
         verificationTokenRepository.save(token);
@@ -124,14 +143,29 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public boolean verifyEmailCode(String email, String code) {
-        VerificationToken token = verificationTokenRepository.findById(code).orElse(null);
-
-        if (token == null || !token.getEmail().equals(email)) {
+        if (email == null || code == null) {
+            return false;
+        }
+        // A 4-digit code is easy to guess, so only a few tries are allowed per code.
+        // Each guess claims an attempt with an atomic $inc before it is checked, so parallel guesses
+        // cannot all read the same count; no match means the token is missing or its attempts are used up.
+        VerificationToken token = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(email).and("attempts").lt(MAX_VERIFICATION_ATTEMPTS)),
+                new Update().inc("attempts", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                VerificationToken.class);
+
+        // The TTL monitor runs about once a minute, so a token can outlive expiresAt briefly
+        if (token == null || token.getExpiresAt().isBefore(Instant.now())) {
             return false;
         }
 
-        if (token.getExpiresAt().isBefore(Instant.now())) {
-            verificationTokenRepository.delete(token);
+        byte[] expected = token.getCodeHash().getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = hashVerificationCode(token.getSalt(), code).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            if (token.getAttempts() >= MAX_VERIFICATION_ATTEMPTS) {
+                verificationTokenRepository.deleteById(email);
+            }
             return false;
         }
 
@@ -140,13 +174,30 @@ public class AuthServiceImpl implements AuthService {
         if (user != null) {
             user.setEmailVerified(true);
             userRepository.save(user);
+            userLookupService.evict(user.getId());
         }
 
         // Delete the used token
-        verificationTokenRepository.delete(token);
+        verificationTokenRepository.deleteById(email);
         return true;
     }
 
+    private static String newSalt() {
+        byte[] salt = new byte[16];
+        SECURE_RANDOM.nextBytes(salt);
+        return HexFormat.of().formatHex(salt);
+    }
+
+    private static String hashVerificationCode(String salt, String code) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest.digest(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     @Override
     public User completeRegistration(String userId, RegisterStep2DTO step2DTO) {
         User user = userRepository.findById(userId)
@@ -156,9 +207,11 @@ public class AuthServiceImpl implements AuthService {
             throw new CustomException("Email not verified");
         }
 
-        user.setPassword(passwordEncoder.encode(step2DTO.getPassword()));
+        user.setPassword(passwordHashingService.hash(step2DTO.getPassword()));
         user.setRole("USER"); // Default role for regular users
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userLookupService.evict(userId);
+        return saved;
     }
 
     @Override
@@ -179,7 +232,9 @@ public class AuthServiceImpl implements AuthService {
         user.setPhone(updateProfileDTO.getPhone());
         user.setEmail(updateProfileDTO.getEmail());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userLookupService.evict(userId);
+        return saved;
     }
 
     @Override
@@ -188,17 +243,18 @@ public class AuthServiceImpl implements AuthService {
                 .orElseThrow(() -> new CustomException("User not found"));
 
         // Verify current password
-        if (!passwordEncoder.matches(changePasswordDTO.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(changePasswordDTO.getCurrentPassword(), user.getPassword())) {
             throw new CustomException("Current password is incorrect");
         }
 
         // Check if new password is different from current password
-        if (passwordEncoder.matches(changePasswordDTO.getNewPassword(), user.getPassword())) {
+        if (passwordHashingService.matches(changePasswordDTO.getNewPassword(), user.getPassword())) {
             throw new CustomException("New password must be different from current password");
         }
 
         // Update password
-        user.setPassword(passwordEncoder.encode(changePasswordDTO.getNewPassword()));
+        user.setPassword(passwordHashingService.hash(changePasswordDTO.getNewPassword()));
         userRepository.save(user);
+        userLookupService.evict(userId);
     }
 }
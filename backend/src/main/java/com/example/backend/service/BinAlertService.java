@@ -0,0 +1,190 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BinDTOs.BinAlert;
+import com.example.backend.exception.ServiceBusyException;
+import com.example.backend.model.WasteAccount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Full-bin alerts.
+ * Single Responsibility: tells connected collectors when bins fill up or are emptied.
+ *
+ * While anyone is subscribed, the bins at or above the clear threshold are
+ * read through the capacity index on a fixed delay, so the cost follows the
+ * number of nearly full bins rather than the fleet, and readings written by
+ * any node are picked up. A bin raises "bin-full" when it reaches the alert
+ * threshold and "bin-cleared" only once it drops below the lower clear
+ * threshold, so a level hovering around the limit does not flap.
+ */
+@Service
+public class BinAlertService {
+
+    public static final String FULL_EVENT = "bin-full";
+    public static final String CLEARED_EVENT = "bin-cleared";
+    public static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final MongoTemplate mongoTemplate;
+    private final double alertThreshold;
+    private final double clearThreshold;
+    private final long emitterTimeoutMillis;
+    private final int maxSubscribers;
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<String, BinAlert> alerting = new HashMap<>(); // guarded by this
+
+    public BinAlertService(MongoTemplate mongoTemplate,
+                           @Value("${app.bins.alerts.threshold:80}") double alertThreshold,
+                           @Value("${app.bins.alerts.clear-threshold:70}") double clearThreshold,
+                           @Value("${app.bins.alerts.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                           @Value("${app.bins.alerts.max-subscribers:200}") int maxSubscribers) {
+        if (clearThreshold > alertThreshold) {
+            throw new IllegalArgumentException("app.bins.alerts.clear-threshold must not exceed app.bins.alerts.threshold");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.alertThreshold = alertThreshold;
+        this.clearThreshold = clearThreshold;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /** Open an alert stream; it starts with a snapshot of the bins that are currently full */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceBusyException("Too many alert subscribers, please retry", 30);
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis); // clients reconnect when it times out
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+
+        List<BinAlert> snapshot;
+        synchronized (this) {
+            if (subscribers.isEmpty()) {
+                refresh(); // nobody was listening, so the state is stale
+            }
+            snapshot = new ArrayList<>(alerting.values());
+            subscribers.add(emitter);
+        }
+        try {
+            emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot));
+        } catch (IOException e) {
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.bins.alerts.poll-interval-ms:10000}")
+    public void poll() {
+        if (subscribers.isEmpty()) {
+            return; // no one to tell; the next subscriber triggers a fresh read
+        }
+        try {
+            List<Change> changes;
+            synchronized (this) {
+                changes = refresh();
+            }
+            for (Change change : changes) {
+                broadcast(change.event, change.alert);
+            }
+            if (changes.isEmpty()) {
+                broadcastKeepAlive(); // finds clients that went away without closing the stream
+            }
+        } catch (Exception e) {
+            System.err.println("Bin alert poll failed: " + e.getMessage());
+        }
+    }
+
+    // Re-read the nearly full bins and return what changed; caller holds the lock
+    private List<Change> refresh() {
+        Query query = new Query(Criteria.where("capacity").gte(clearThreshold));
+        query.fields().include("account_id", "location.latitude", "location.longitude", "capacity");
+        List<WasteAccount> nearlyFull = mongoTemplate.find(query, WasteAccount.class);
+
+        Instant now = Instant.now();
+        List<Change> changes = new ArrayList<>();
+        Map<String, BinAlert> stillAlerting = new HashMap<>();
+        for (WasteAccount account : nearlyFull) {
+            if (account.getAccountId() == null) {
+                continue;
+            }
+            BinAlert previous = alerting.get(account.getAccountId());
+            if (previous == null && account.getCapacity() < alertThreshold) {
+                continue; // inside the band but never reached the alert level
+            }
+            BinAlert alert = toAlert(account, previous != null ? previous.since : now);
+            stillAlerting.put(alert.accountId, alert);
+            if (previous == null) {
+                changes.add(new Change(FULL_EVENT, alert));
+            }
+        }
+        for (BinAlert previous : alerting.values()) {
+            if (!stillAlerting.containsKey(previous.accountId)) {
+                BinAlert cleared = new BinAlert();
+                cleared.accountId = previous.accountId;
+                cleared.latitude = previous.latitude;
+                cleared.longitude = previous.longitude;
+                cleared.since = now;
+                changes.add(new Change(CLEARED_EVENT, cleared));
+            }
+        }
+        alerting.clear();
+        alerting.putAll(stillAlerting);
+        return changes;
+    }
+
+    private void broadcast(String event, BinAlert alert) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(alert));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+            }
+        }
+    }
+
+    private void broadcastKeepAlive() {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+            }
+        }
+    }
+
+    private static BinAlert toAlert(WasteAccount account, Instant since) {
+        BinAlert alert = new BinAlert();
+        alert.accountId = account.getAccountId();
+        if (account.getLocation() != null) {
+            alert.latitude = account.getLocation().getLatitude();
+            alert.longitude = account.getLocation().getLongitude();
+        }
+        alert.capacity = account.getCapacity();
+        alert.since = since;
+        return alert;
+    }
+
+    private static final class Change {
+        private final String event;
+        private final BinAlert alert;
+
+        private Change(String event, BinAlert alert) {
+            this.event = event;
+            this.alert = alert;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BinDTOs.BinMarker;
+import com.example.backend.dto.BinDTOs.BinPage;
+import com.example.backend.model.WasteAccount;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service responsible for the bin map
+ * Single Responsibility: Reading bin markers for a map viewport
+ *
+ * Only the account ID, coordinates and fill level are read, so a page of
+ * markers never carries QR images, addresses or other account fields.
+ */
+@Service
+public class BinMapService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public BinMapService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Get one page of bins, optionally limited to a bounding box.
+     * The box is only applied when all four edges are given.
+     */
+    public BinPage findBins(Double minLat, Double maxLat, Double minLng, Double maxLng, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        Query query = new Query();
+        if (minLat != null && maxLat != null && minLng != null && maxLng != null) {
+            query.addCriteria(Criteria.where("location.latitude").gte(minLat).lte(maxLat)
+                    .and("location.longitude").gte(minLng).lte(maxLng));
+        }
+        query.fields().include("account_id", "location.latitude", "location.longitude", "capacity");
+        query.with(Sort.by("_id"));
+        query.skip((long) pageNumber * pageSize).limit(pageSize + 1); // One extra row tells whether another page exists
+
+        List<WasteAccount> accounts = mongoTemplate.find(query, WasteAccount.class);
+        BinPage result = new BinPage();
+        result.page = pageNumber;
+        result.size = pageSize;
+        result.hasMore = accounts.size() > pageSize;
+        result.bins = new ArrayList<>(Math.min(accounts.size(), pageSize));
+        for (WasteAccount account : accounts.subList(0, Math.min(accounts.size(), pageSize))) {
+            BinMarker marker = new BinMarker();
+            marker.accountId = account.getAccountId();
+            if (account.getLocation() != null) {
+                marker.latitude = account.getLocation().getLatitude();
+                marker.longitude = account.getLocation().getLongitude();
+            }
+            marker.capacity = account.getCapacity();
+            result.bins.add(marker);
+        }
+        return result;
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.backend.service;
 
 import com.example.backend.model.WasteAccount;
-import com.example.backend.repository.WasteAccountRepository;
 import com.example.backend.exception.CustomException;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.stereotype.Service;
-import java.util.List;
-import java.util.Random;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service responsible for randomizing waste account capacity
@@ -16,36 +20,50 @@ import java.util.Random;
 public class CapacityRandomizer {
     
     @Autowired
-    private WasteAccountRepository wasteAccountRepository;
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private FillLevelService fillLevelService;
     
     /**
-     * Auto-randomizes capacity for all waste accounts based on a percentage parameter
+     * Auto-randomizes capacity for a sample of waste accounts based on a percentage parameter
+     * The sample is drawn by Mongo ($sample) and only the new readings are written, in bulk
      * @param percentage The percentage of accounts to randomize (0.0 to 1.0)
-     * @return List of updated waste accounts
+     * @return Number of waste accounts whose capacity changed
      */
-    public List<WasteAccount> randomizeCapacity(double percentage) {
+    public int randomizeCapacity(double percentage) {
         if (percentage < 0.0 || percentage > 1.0) {
             throw new CustomException("Percentage must be between 0.0 and 1.0");
         }
         
-        List<WasteAccount> allAccounts = wasteAccountRepository.findAll();
-        Random random = new Random();
-        
         // Calculate how many accounts to randomize
-        int accountsToRandomize = (int) Math.round(allAccounts.size() * percentage);
+        long totalAccounts = mongoTemplate.estimatedCount(WasteAccount.class);
+        int accountsToRandomize = (int) Math.round(totalAccounts * percentage);
+        if (accountsToRandomize == 0) {
+            return 0;
+        }
         
-        // Shuffle the list to randomize selection
-        java.util.Collections.shuffle(allAccounts);
+        // Let the database pick the accounts, reading only their ID and current capacity
+        Aggregation sample = Aggregation.newAggregation(
+                Aggregation.sample(accountsToRandomize),
+                Aggregation.project("account_id", "capacity"));
         
-        // Randomize capacity for selected accounts
-        for (int i = 0; i < accountsToRandomize && i < allAccounts.size(); i++) {
-            WasteAccount account = allAccounts.get(i);
-            // Generate random capacity between 0 and 100
-            double randomCapacity = random.nextDouble() * 100.0;
-            account.setCapacity(Math.round(randomCapacity * 100.0) / 100.0); // Round to 2 decimal places
+        Map<String, Double> newLevels = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (Document account : mongoTemplate.aggregate(sample, "waste_accounts", Document.class)) {
+            String accountId = account.getString("account_id");
+            if (accountId == null) {
+                continue;
+            }
+            // Generate random capacity between 0 and 100, rounded to 2 decimal places
+            double randomCapacity = Math.round(random.nextDouble() * 100.0 * 100.0) / 100.0;
+            Object current = account.get("capacity");
+            if (current instanceof Number && ((Number) current).doubleValue() == randomCapacity) {
+                continue; // Unchanged, nothing to write
+            }
+            newLevels.put(accountId, randomCapacity);
         }
         
-        // Save all updated accounts
-        return wasteAccountRepository.saveAll(allAccounts);
+        return fillLevelService.recordAll(newLevels, Instant.now());
     }
 }
@@ -2,10 +2,20 @@ package com.example.backend.service;
 
 import com.example.backend.model.Collection;
 import com.example.backend.repository.CollectionRepository;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +25,24 @@ public class CollectionService {
     @Autowired
     private CollectionRepository collectionRepository;
     
+    @Autowired
+    private CollectorStatsService collectorStatsService;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    private static final int DUPLICATE_KEY = 11000;
+    
     /**
      * Save a new collection record
      */
     public Collection saveCollection(Collection collection) {
-        return collectionRepository.save(collection);
+        boolean isNew = collection.getId() == null;
+        Collection saved = collectionRepository.save(collection);
+        if (isNew) {
+            collectorStatsService.record(saved.getCollectorId(), saved.getCreatedAt(), saved.getWeight(), 1);
+        }
+        return saved;
     }
     
     /**
@@ -29,7 +52,59 @@ public class CollectionService {
                                      double weight, String wasteType, Collection.Location location, 
                                      String collectorId) {
         Collection collection = new Collection(accountId, accountHolder, address, weight, wasteType, location, collectorId);
-        return collectionRepository.save(collection);
+        Collection saved = collectionRepository.save(collection);
+        collectorStatsService.record(collectorId, saved.getCreatedAt(), weight, 1); // Atomic $inc of the collector's day counters
+        return saved;
+    }
+    
+    /**
+     * Store collections recorded offline, keyed by their client-generated IDs, with one unordered bulk write.
+     * Each record is inserted only if its ID is new, so a device can resend a batch after a lost response.
+     * @return for each collection, in order, true if it was stored now and false if it already existed
+     */
+    public boolean[] upsertBatch(List<Collection> collections) {
+        boolean[] stored = new boolean[collections.size()];
+        if (collections.isEmpty()) {
+            return stored;
+        }
+        Instant now = Instant.now();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Collection.class);
+        for (Collection collection : collections) {
+            collection.setCreatedAt(now);
+            ops.upsert(new Query(Criteria.where("_id").is(collection.getId())), new Update()
+                    .setOnInsert("accountId", collection.getAccountId())
+                    .setOnInsert("accountHolder", collection.getAccountHolder())
+                    .setOnInsert("address", collection.getAddress())
+                    .setOnInsert("weight", collection.getWeight())
+                    .setOnInsert("wasteType", collection.getWasteType())
+                    .setOnInsert("location", collection.getLocation())
+                    .setOnInsert("collectorId", collection.getCollectorId())
+                    .setOnInsert("status", collection.getStatus())
+                    .setOnInsert("createdAt", now)
+                    .setOnInsert("collectionTimestamp", collection.getCollectionTimestamp()));
+        }
+        
+        List<BulkWriteUpsert> upserts;
+        try {
+            upserts = ops.execute().getUpserts();
+        } catch (BulkOperationException e) {
+            // Two uploads of the same record racing each other: the loser's upsert fails on the _id index
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            BulkWriteResult partial = e.getResult();
+            upserts = partial != null ? partial.getUpserts() : List.of();
+        }
+        
+        List<Collection> inserted = new ArrayList<>(upserts.size());
+        for (BulkWriteUpsert upsert : upserts) {
+            stored[upsert.getIndex()] = true;
+            inserted.add(collections.get(upsert.getIndex()));
+        }
+        collectorStatsService.recordAll(inserted); // duplicates were counted when they were first stored
+        return stored;
     }
     
     /**
@@ -98,22 +173,23 @@ public class CollectionService {
      * Delete collection by ID
      */
     public void deleteCollection(String id) {
+        Optional<Collection> collection = collectionRepository.findById(id);
         collectionRepository.deleteById(id);
+        collection.ifPresent(c -> collectorStatsService.record(c.getCollectorId(), c.getCreatedAt(), c.getWeight(), -1));
     }
     
     /**
-     * Get collection statistics for a collector
+     * Get collection statistics for a collector (read from the per-day counters)
      */
     public CollectionStats getCollectionStats(String collectorId) {
-        List<Collection> collections = collectionRepository.findByCollectorId(collectorId);
-        
-        int totalCollections = collections.size();
-        double totalWeight = collections.stream().mapToDouble(Collection::getWeight).sum();
-        long todayCollections = collections.stream()
-            .filter(c -> c.getCreatedAt().isAfter(Instant.now().minusSeconds(24 * 60 * 60)))
-            .count();
-        
-        return new CollectionStats(totalCollections, totalWeight, todayCollections);
+        return collectorStatsService.getStats(collectorId);
+    }
+    
+    /**
+     * Recompute a collector's statistics from its collections
+     */
+    public int rebuildCollectionStats(String collectorId) {
+        return collectorStatsService.rebuild(collectorId);
     }
     
     /**
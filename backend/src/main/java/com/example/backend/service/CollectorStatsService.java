@@ -0,0 +1,226 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Collection;
+import com.example.backend.model.CollectorDailyStats;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Per-collector collection statistics.
+ * Single Responsibility: keeps running counters per collector and UTC day,
+ * so the stats endpoint reads three small documents instead of every
+ * collection the collector ever recorded.
+ *
+ * Each recorded collection $inc's its day document (count, weight and an
+ * hourly count) and the collector's lifetime document. The counters can be
+ * recomputed from the collections with {@link #rebuild(String)}; on first
+ * start, when no counters exist yet, every collector is rebuilt once.
+ */
+@Service
+public class CollectorStatsService {
+
+    public static final String TOTAL = "total";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean backfillOnStartup;
+
+    public CollectorStatsService(MongoTemplate mongoTemplate,
+                                 @Value("${app.collections.stats.backfill:true}") boolean backfillOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /** Count a collection (delta 1) or take one back (delta -1) */
+    public void record(String collectorId, Instant createdAt, double weight, int delta) {
+        if (collectorId == null || createdAt == null) {
+            return;
+        }
+        ZonedDateTime utc = createdAt.atZone(ZoneOffset.UTC);
+        String day = utc.toLocalDate().toString();
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CollectorDailyStats.class);
+        ops.upsert(byId(collectorId, day), new Update()
+                .setOnInsert("collectorId", collectorId)
+                .setOnInsert("day", day)
+                .inc("count", delta)
+                .inc("weight", delta * weight)
+                .inc("hours." + utc.getHour(), delta));
+        ops.upsert(byId(collectorId, TOTAL), new Update()
+                .setOnInsert("collectorId", collectorId)
+                .setOnInsert("day", TOTAL)
+                .inc("count", delta)
+                .inc("weight", delta * weight));
+        ops.execute();
+    }
+
+    /** Count many new collections with one bulk write, merging the increments per collector and day first */
+    public void recordAll(List<Collection> collections) {
+        Map<String, CollectorDailyStats> increments = new LinkedHashMap<>();
+        for (Collection collection : collections) {
+            if (collection.getCollectorId() == null || collection.getCreatedAt() == null) {
+                continue;
+            }
+            ZonedDateTime utc = collection.getCreatedAt().atZone(ZoneOffset.UTC);
+            String collectorId = collection.getCollectorId();
+            String day = utc.toLocalDate().toString();
+
+            CollectorDailyStats daily = increments.computeIfAbsent(id(collectorId, day),
+                    id -> new CollectorDailyStats(id, collectorId, day, 0, 0.0, new HashMap<>(), null));
+            daily.setCount(daily.getCount() + 1);
+            daily.setWeight(daily.getWeight() + collection.getWeight());
+            daily.getHours().merge(Integer.toString(utc.getHour()), 1, Integer::sum);
+
+            CollectorDailyStats total = increments.computeIfAbsent(id(collectorId, TOTAL),
+                    id -> new CollectorDailyStats(id, collectorId, TOTAL, 0, 0.0, null, null));
+            total.setCount(total.getCount() + 1);
+            total.setWeight(total.getWeight() + collection.getWeight());
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CollectorDailyStats.class);
+        for (CollectorDailyStats increment : increments.values()) {
+            Update update = new Update()
+                    .setOnInsert("collectorId", increment.getCollectorId())
+                    .setOnInsert("day", increment.getDay())
+                    .inc("count", increment.getCount())
+                    .inc("weight", increment.getWeight());
+            if (increment.getHours() != null) {
+                increment.getHours().forEach((hour, count) -> update.inc("hours." + hour, count));
+            }
+            ops.upsert(new Query(Criteria.where("_id").is(increment.getId())), update);
+        }
+        ops.execute();
+    }
+
+    /** Lifetime totals plus the collections of the last 24 hours (to the hour), from at most three documents */
+    public CollectionService.CollectionStats getStats(String collectorId) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        String today = now.toLocalDate().toString();
+        String yesterday = now.toLocalDate().minusDays(1).toString();
+
+        Query query = new Query(Criteria.where("_id").in(id(collectorId, TOTAL), id(collectorId, today), id(collectorId, yesterday)));
+        Map<String, CollectorDailyStats> byDay = new HashMap<>();
+        for (CollectorDailyStats stats : mongoTemplate.find(query, CollectorDailyStats.class)) {
+            byDay.put(stats.getDay(), stats);
+        }
+
+        CollectorDailyStats total = byDay.get(TOTAL);
+        long lastDay = 0;
+        int currentHour = now.getHour();
+        for (int hour = 0; hour < 24; hour++) {
+            // The window is today's hours so far plus yesterday's hours after the current one
+            CollectorDailyStats bucket = byDay.get(hour <= currentHour ? today : yesterday);
+            if (bucket != null && bucket.getHours() != null) {
+                lastDay += bucket.getHours().getOrDefault(Integer.toString(hour), 0);
+            }
+        }
+        return new CollectionService.CollectionStats(
+                total != null ? total.getCount() : 0,
+                total != null ? total.getWeight() : 0.0,
+                lastDay);
+    }
+
+    /**
+     * Recompute the counters of one collector (or of every collector when null) from the collections.
+     * Collections recorded while a rebuild runs may be missed or counted twice, so run it when collectors are idle.
+     * @return number of counter documents written
+     */
+    public int rebuild(String collectorId) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (collectorId != null) {
+            stages.add(match(Criteria.where("collector_id").is(collectorId)));
+        } else {
+            stages.add(match(Criteria.where("collector_id").ne(null).and("created_at").ne(null)));
+        }
+        stages.add(project("collector_id", "weight")
+                .and(DateOperators.DateToString.dateOf("created_at").toString("%Y-%m-%d")).as("day")
+                .and(DateOperators.Hour.hourOf("created_at")).as("hour"));
+        stages.add(group("collector_id", "day", "hour").count().as("count").sum("weight").as("weight"));
+
+        Map<String, CollectorDailyStats> documents = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        for (Document row : mongoTemplate.aggregate(newAggregation(stages), "collections", Document.class)) {
+            Document key = row.get("_id", Document.class);
+            String collector = key.getString("collector_id");
+            String day = key.getString("day");
+            Number hour = key.get("hour", Number.class);
+            if (collector == null || day == null || hour == null) {
+                continue;
+            }
+            int count = row.get("count", Number.class).intValue();
+            double weight = row.get("weight", Number.class) != null ? row.get("weight", Number.class).doubleValue() : 0.0;
+
+            CollectorDailyStats daily = documents.computeIfAbsent(id(collector, day),
+                    id -> new CollectorDailyStats(id, collector, day, 0, 0.0, new HashMap<>(), now));
+            daily.setCount(daily.getCount() + count);
+            daily.setWeight(daily.getWeight() + weight);
+            daily.getHours().merge(Integer.toString(hour.intValue()), count, Integer::sum);
+
+            CollectorDailyStats total = documents.computeIfAbsent(id(collector, TOTAL),
+                    id -> new CollectorDailyStats(id, collector, TOTAL, 0, 0.0, null, now));
+            total.setCount(total.getCount() + count);
+            total.setWeight(total.getWeight() + weight);
+        }
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, CollectorDailyStats.class);
+        ops.remove(collectorId != null
+                ? new Query(Criteria.where("_id").gte(collectorId + "|").lt(collectorId + "}")) // '}' sorts right after '|'; an _id range over one collector
+                : new Query());
+        if (!documents.isEmpty()) {
+            ops.insert(new ArrayList<>(documents.values()));
+        }
+        ops.execute();
+        return documents.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillInBackground() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                if (!mongoTemplate.exists(new Query(), CollectorDailyStats.class)) {
+                    int written = rebuild(null);
+                    if (written > 0) {
+                        System.out.println("Built " + written + " collector stats documents from existing collections");
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Collector stats backfill failed: " + e.getMessage());
+            }
+        }, "collector-stats-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private static Query byId(String collectorId, String day) {
+        return new Query(Criteria.where("_id").is(id(collectorId, day)));
+    }
+
+    private static String id(String collectorId, String day) {
+        return collectorId + "|" + day;
+    }
+}
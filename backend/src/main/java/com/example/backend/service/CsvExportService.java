@@ -0,0 +1,107 @@
+package com.example.backend.service;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.Waste.WasteRepository;
+import com.example.backend.model.Collection;
+import com.example.backend.model.SpecialCollection;
+import com.example.backend.repository.CollectionRepository;
+import com.example.backend.repository.SpecialCollectionRepository;
+import com.example.backend.util.CsvWriter;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+/**
+ * CSV exports for the municipality.
+ * Single Responsibility: writes collections, waste submissions and special
+ * collections of a date range as CSV.
+ *
+ * Rows are read through a Mongo cursor on the date index and written as they
+ * arrive, so memory stays flat however long the range is and the first bytes
+ * reach the client as soon as the header is written. Large fields nobody
+ * exports (QR images, bank details) are left out of the query.
+ */
+@Service
+public class CsvExportService {
+
+    private final CollectionRepository collectionRepository;
+    private final WasteRepository wasteRepository;
+    private final SpecialCollectionRepository specialCollectionRepository;
+
+    public CsvExportService(CollectionRepository collectionRepository,
+                            WasteRepository wasteRepository,
+                            SpecialCollectionRepository specialCollectionRepository) {
+        this.collectionRepository = collectionRepository;
+        this.wasteRepository = wasteRepository;
+        this.specialCollectionRepository = specialCollectionRepository;
+    }
+
+    /** Collections created from the start of {@code from} to the end of {@code to} (UTC days) */
+    public void writeCollections(LocalDate from, LocalDate to, Writer out) throws IOException {
+        CsvWriter csv = new CsvWriter(out).row("id", "account_id", "account_holder", "address", "weight_kg", "waste_type",
+                "latitude", "longitude", "collector_id", "status", "created_at", "collection_timestamp");
+        out.flush(); // start the download before the first row is read
+        try (Stream<Collection> rows = collectionRepository.streamByCreatedAt(
+                from.atStartOfDay(ZoneOffset.UTC).toInstant(), to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant())) {
+            for (Collection c : (Iterable<Collection>) rows::iterator) {
+                csv.text(c.getId()).text(c.getAccountId()).text(c.getAccountHolder()).text(c.getAddress())
+                        .number(c.getWeight()).text(c.getWasteType());
+                if (c.getLocation() != null) {
+                    csv.number(c.getLocation().getLatitude()).number(c.getLocation().getLongitude());
+                } else {
+                    csv.text(null).text(null);
+                }
+                csv.text(c.getCollectorId()).text(c.getStatus()).value(c.getCreatedAt()).value(c.getCollectionTimestamp()).endRow();
+            }
+        }
+        out.flush();
+    }
+
+    /** Recyclable waste submissions made from the start of {@code from} to the end of {@code to} */
+    public void writeWastes(LocalDate from, LocalDate to, Writer out) throws IOException {
+        CsvWriter csv = new CsvWriter(out).row("id", "user_id", "full_name", "submission_date", "submission_method", "status",
+                "items", "estimated_weight_kg", "actual_weight_kg", "estimated_payback", "actual_payback",
+                "payback_method", "payment_status", "wallet_settlement", "city", "latitude", "longitude");
+        out.flush();
+        try (Stream<Waste> rows = wasteRepository.streamBySubmissionDate(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            for (Waste w : (Iterable<Waste>) rows::iterator) {
+                csv.value(w.getId()).text(w.getUserId()).text(w.getFullName()).value(w.getSubmissionDate())
+                        .text(w.getSubmissionMethod()).text(w.getStatus()).value(w.getItems() != null ? w.getItems().size() : 0)
+                        .number(w.getTotalWeightKg()).number(w.getActualWeightKg())
+                        .number(w.getTotalPaybackAmount()).number(w.getActualPaybackAmount())
+                        .text(w.getPaybackMethod()).text(w.getPaymentStatus()).text(w.getWalletSettlement())
+                        .text(w.getPickup() != null ? w.getPickup().getCity() : null);
+                if (w.getLocation() != null) {
+                    csv.number(w.getLocation().getLatitude()).number(w.getLocation().getLongitude());
+                } else {
+                    csv.text(null).text(null);
+                }
+                csv.endRow();
+            }
+        }
+        out.flush();
+    }
+
+    /** Special collections booked from the start of {@code from} to the end of {@code to} */
+    public void writeSpecialCollections(LocalDate from, LocalDate to, Writer out) throws IOException {
+        CsvWriter csv = new CsvWriter(out).row("id", "user_id", "category", "items", "quantity", "fee", "tariff_version",
+                "date", "time_slot", "location", "latitude", "longitude", "status", "payment_status", "payment_method",
+                "created_at", "collected_at", "missed_at");
+        out.flush();
+        try (Stream<SpecialCollection> rows = specialCollectionRepository.streamByCreatedAt(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            for (SpecialCollection sc : (Iterable<SpecialCollection>) rows::iterator) {
+                csv.text(sc.getId()).text(sc.getUserId()).text(sc.getCategory()).text(sc.getItems())
+                        .value(sc.getQuantity()).number(sc.getFee()).value(sc.getTariffVersion())
+                        .text(sc.getDate()).text(sc.getTimeSlot()).text(sc.getLocation())
+                        .number(sc.getLatitude()).number(sc.getLongitude())
+                        .text(sc.getStatus()).text(sc.getPaymentStatus()).text(sc.getPaymentMethod())
+                        .value(sc.getCreatedAt()).value(sc.getCollectedAt()).value(sc.getMissedAt()).endRow();
+            }
+        }
+        out.flush();
+    }
+}
@@ -1,48 +1,317 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.WalletDTOs.TransactionPage;
+import com.example.backend.exception.CustomException;
+import com.example.backend.exception.ServiceBusyException;
 import com.example.backend.model.DigitalWallet;
+import com.example.backend.model.WalletLedgerSummary;
+import com.example.backend.model.WalletTransaction;
 import com.example.backend.repository.DigitalWalletRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.example.backend.util.LruCache;
+import com.example.backend.util.TimelineCursor;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class DigitalWalletService {
 
-    @Autowired
-    private DigitalWalletRepository digitalWalletRepository;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_KEY = "t"; // Same key as the wallet source of the activity timeline
+
+    private final DigitalWalletRepository digitalWalletRepository;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate; // Balance change and its ledger entry commit together
+    private final LruCache<String, CachedWallet> balances; // Near-cache of wallets keyed by userId, written through on every change
+    private final long cacheTtlMillis; // Bounds staleness from writes made by other instances
+    private final int maxAttempts; // Transaction attempts per credit or debit
+    private final Counter conflicts;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public DigitalWalletService(DigitalWalletRepository digitalWalletRepository,
+                                MongoTemplate mongoTemplate,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.wallet.cache-size:10000}") int cacheSize,
+                                @Value("${app.wallet.cache-ttl-ms:5000}") long cacheTtlMillis,
+                                @Value("${app.wallet.transaction-max-attempts:5}") int maxAttempts) {
+        this.digitalWalletRepository = digitalWalletRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.balances = new LruCache<>(cacheSize);
+        this.cacheTtlMillis = cacheTtlMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.conflicts = Counter.builder("wallet.transaction.conflicts")
+                .description("Wallet transactions aborted by a conflicting write and retried").register(meterRegistry);
+        this.cacheHits = Counter.builder("wallet.cache.requests").tag("result", "hit")
+                .description("Wallet reads served by the near-cache").register(meterRegistry);
+        this.cacheMisses = Counter.builder("wallet.cache.requests").tag("result", "miss")
+                .description("Wallet reads that went to the database").register(meterRegistry);
+        Gauge.builder("wallet.cache.size", balances, LruCache::size)
+                .description("Wallets held in the near-cache").register(meterRegistry);
+    }
 
+    // Read the wallet, creating it atomically on first use; concurrent first reads get the same document
     public DigitalWallet getOrCreateWallet(String userId) {
-        Optional<DigitalWallet> wallet = digitalWalletRepository.findByUserId(userId);
-        if (wallet.isPresent()) {
-            return wallet.get();
-        } else {
-            DigitalWallet newWallet = new DigitalWallet(userId);
-            return digitalWalletRepository.save(newWallet);
+        DigitalWallet cached = cachedWallet(userId);
+        if (cached != null) {
+            return cached;
         }
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Update createIfMissing = new Update()
+                .setOnInsert("points", 0)
+                .setOnInsert("revision", 0L)
+                .setOnInsert("createdAt", now)
+                .setOnInsert("updatedAt", now);
+        DigitalWallet wallet;
+        try {
+            wallet = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("userId").is(userId)),
+                    createIfMissing,
+                    FindAndModifyOptions.options().returnNew(true).upsert(true),
+                    DigitalWallet.class);
+        } catch (DuplicateKeyException e) {
+            // Another request inserted the wallet between our match and insert; the unique index kept one copy
+            wallet = digitalWalletRepository.findByUserId(userId).orElseThrow(() -> e);
+        }
+        return remember(wallet);
     }
 
+    // Credit the wallet with one atomic $inc (creating it if needed) and append a ledger entry, in one transaction
     public DigitalWallet addPoints(String userId, Integer points, String description) {
-        DigitalWallet wallet = getOrCreateWallet(userId);
-        wallet.addPoints(points, description);
-        return digitalWalletRepository.save(wallet);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Update update = new Update()
+                .inc("points", points)
+                .inc("revision", 1L)
+                .set("updatedAt", now)
+                .setOnInsert("createdAt", now);
+        DigitalWallet wallet = inTransactionWithRetry(status -> {
+            DigitalWallet credited = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("userId").is(userId)),
+                    update,
+                    FindAndModifyOptions.options().returnNew(true).upsert(true),
+                    DigitalWallet.class);
+            appendToLedger(userId, points, description, WalletTransaction.CREDIT, credited.getPoints(), now);
+            return credited;
+        });
+        return remember(wallet); // cached only once committed
     }
 
-    public boolean deductPoints(String userId, Integer points, String description) {
-        DigitalWallet wallet = getOrCreateWallet(userId);
-        boolean success = wallet.deductPoints(points, description);
-        if (success) {
-            digitalWalletRepository.save(wallet);
+    // Debit the wallet only if the balance covers it, together with its ledger entry; empty when points are insufficient
+    public Optional<DigitalWallet> deduct(String userId, Integer points, String description) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        DigitalWallet wallet = inTransactionWithRetry(status -> {
+            DigitalWallet debited = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("userId").is(userId).and("points").gte(points)),
+                    new Update().inc("points", -points).inc("revision", 1L).set("updatedAt", now),
+                    FindAndModifyOptions.options().returnNew(true),
+                    DigitalWallet.class);
+            if (debited != null) {
+                appendToLedger(userId, -points, description, WalletTransaction.DEBIT, debited.getPoints(), now);
+            }
+            return debited;
+        });
+        if (wallet == null) {
+            return Optional.empty();
         }
-        return success;
+        return Optional.of(remember(wallet));
     }
 
+    public boolean deductPoints(String userId, Integer points, String description) {
+        return deduct(userId, points, description).isPresent();
+    }
+
+    // Balance polling: served from the near-cache, and never creates a wallet
     public Integer getPoints(String userId) {
-        DigitalWallet wallet = getOrCreateWallet(userId);
-        return wallet.getPoints();
+        DigitalWallet cached = cachedWallet(userId);
+        if (cached != null) {
+            return cached.getPoints();
+        }
+        DigitalWallet wallet = mongoTemplate.findOne(Query.query(Criteria.where("userId").is(userId)), DigitalWallet.class);
+        if (wallet == null) {
+            return 0;
+        }
+        return remember(wallet).getPoints();
     }
 
     public DigitalWallet getWallet(String userId) {
         return getOrCreateWallet(userId);
     }
+
+    // Drop a cached wallet after its balance was changed outside this service
+    public void forget(String userId) {
+        balances.remove(userId);
+    }
+
+    // One page of the wallet history, newest first, continuing after the given cursor
+    public TransactionPage getTransactions(String userId, String cursorValue, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TimelineCursor cursor;
+        try {
+            cursor = TimelineCursor.decode(cursorValue);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Invalid transactions cursor");
+        }
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        TimelineCursor.Position after = cursor.position(CURSOR_KEY);
+        if (after != null && after.getTimestamp() != null) {
+            criteria.orOperator(
+                    Criteria.where("timestamp").lt(after.getTimestamp()),
+                    Criteria.where("timestamp").is(after.getTimestamp()).and("_id").lt(after.getId()));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .limit(pageSize + 1); // One extra row tells whether another page exists
+        List<WalletTransaction> rows = mongoTemplate.find(query, WalletTransaction.class);
+
+        TransactionPage page = new TransactionPage();
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            WalletTransaction last = rows.get(pageSize - 1);
+            TimelineCursor next = TimelineCursor.start();
+            next.advance(CURSOR_KEY, last.getTimestamp(), last.getId());
+            page.nextCursor = next.encode();
+        }
+        page.transactions = rows;
+        return page;
+    }
+
+    // Monthly roll-ups of history older than the compaction horizon, newest first
+    public List<WalletLedgerSummary> getMonthlySummaries(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId)).with(Sort.by(Sort.Direction.DESC, "month"));
+        return mongoTemplate.find(query, WalletLedgerSummary.class);
+    }
+
+    // Detail of a compacted month, read from the cold archive
+    public List<WalletTransaction> getArchivedTransactions(String userId, YearMonth month) {
+        Query query = Query.query(Criteria.where("userId").is(userId)
+                        .and("timestamp").gte(month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant())
+                        .lt(month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant()))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"));
+        return mongoTemplate.find(query, WalletTransaction.class, WalletLedgerCompactor.ARCHIVE_COLLECTION);
+    }
+
+    /**
+     * Run a balance change and its ledger entry in one transaction, retrying when MongoDB aborts it
+     * (a write conflict with a concurrent change of the same wallet, or two first-time upserts racing on
+     * the unique userId index). An unknown commit result is not retried, since the credit may have landed.
+     * Inside an outer transaction the work joins it and the outer caller owns the retry. Callers that must
+     * commit other writes together with a credit or debit run both through this method.
+     */
+    public <T> T inTransactionWithRetry(TransactionCallback<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(work);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(work);
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    throw new ServiceBusyException("The wallet is busy, please retry", 1);
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (t instanceof MongoException mongo
+                    && (mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)
+                        || mongo.getCode() == 112)) { // WriteConflict
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Randomised exponential backoff so competing writers do not collide again
+    private static void backoff(int attempt) {
+        long maxMillis = 5L << Math.min(attempt, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while updating the wallet", 1);
+        }
+    }
+
+    // Ledger entries are only inserted, so every wallet write is O(1) whatever the history size
+    private void appendToLedger(String userId, int amount, String description, String type, Integer balanceAfter, Instant timestamp) {
+        mongoTemplate.insert(new WalletTransaction(
+                new ObjectId().toHexString(), userId, amount, description, type, balanceAfter, timestamp));
+    }
+
+    private DigitalWallet cachedWallet(String userId) {
+        CachedWallet entry = balances.get(userId);
+        if (entry != null && System.currentTimeMillis() - entry.cachedAt <= cacheTtlMillis) {
+            cacheHits.increment();
+            return copyOf(entry.wallet);
+        }
+        cacheMisses.increment();
+        return null;
+    }
+
+    // Cache the wallet unless a newer revision is already cached, so a slow writer cannot roll the balance back
+    private DigitalWallet remember(DigitalWallet wallet) {
+        CachedWallet fresh = new CachedWallet(copyOf(wallet), System.currentTimeMillis());
+        balances.compute(wallet.getUserId(), (userId, current) ->
+                current != null && revisionOf(current.wallet) > revisionOf(wallet) ? current : fresh);
+        return wallet;
+    }
+
+    private static long revisionOf(DigitalWallet wallet) {
+        return wallet.getRevision() == null ? 0L : wallet.getRevision();
+    }
+
+    private static DigitalWallet copyOf(DigitalWallet wallet) {
+        DigitalWallet copy = new DigitalWallet(wallet.getUserId());
+        copy.setId(wallet.getId());
+        copy.setPoints(wallet.getPoints());
+        copy.setRevision(wallet.getRevision());
+        copy.setCreatedAt(wallet.getCreatedAt());
+        copy.setUpdatedAt(wallet.getUpdatedAt());
+        return copy;
+    }
+
+    private static final class CachedWallet {
+        private final DigitalWallet wallet;
+        private final long cachedAt;
+
+        private CachedWallet(DigitalWallet wallet, long cachedAt) {
+            this.wallet = wallet;
+            this.cachedAt = cachedAt;
+        }
+    }
 }
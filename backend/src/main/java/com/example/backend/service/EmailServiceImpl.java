@@ -3,12 +3,15 @@ package com.example.backend.service;
 import org.springframework.stereotype.Service;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public void sendVerificationToken(String email, String token) {
@@ -17,7 +20,7 @@ public class EmailServiceImpl implements EmailService {
         message.setSubject("Email Verification Code - Waste Management App");
         message.setText("Your verification code is: " + token
                 + "\n\nThis code will expire in 10 minutes.\n\nIf you didn't request this code, please ignore this email.");
-        mailSender.send(message);
+        send("verification", message);
     }
 
     @Override
@@ -33,7 +36,7 @@ public class EmailServiceImpl implements EmailService {
                 + "Pickup Location: " + location + "\n"
                 + String.format("Total Fee: LKR %.2f\n\n", fee)
                 + "Thank you for using EcoWaste Solutions.");
-        mailSender.send(message);
+        send("special-collection-confirmation", message);
     }
 
     @Override
@@ -47,7 +50,7 @@ public class EmailServiceImpl implements EmailService {
                 + "Method: " + method + "\n"
                 + String.format("Amount: LKR %.2f\n\n", amount)
                 + (success ? "Thank you for your payment." : "Please try again or use another method."));
-        mailSender.send(message);
+        send("payment", message);
     }
 
     @Override
@@ -61,7 +64,7 @@ public class EmailServiceImpl implements EmailService {
                 + "Time Slot: " + timeSlot + "\n"
                 + "Completed At: " + java.time.LocalDateTime.now().toString() + "\n\n"
                 + "Thank you for using EcoWaste Solutions. Your waste has been properly disposed of.");
-        mailSender.send(message);
+        send("collection-completed", message);
     }
 
     @Override
@@ -92,6 +95,22 @@ public class EmailServiceImpl implements EmailService {
                 + "Collected At: " + collectedAt + "\n\n"
                 + paybackDetails + "\n\n"
                 + "Thank you for contributing to environmental sustainability with EcoWaste Solutions!");
-        mailSender.send(message);
+        send("recyclable-collected", message);
+    }
+
+    // SMTP round trips are the slowest thing most requests do; time them per message type and outcome
+    private void send(String type, SimpleMailMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            mailSender.send(message);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("email.send")
+                    .description("E-mail delivery to the SMTP server, by message type and outcome")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 }
@@ -0,0 +1,83 @@
+package com.example.backend.service;
+
+import com.example.backend.util.FanOut;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel reads for composite endpoints.
+ * Single Responsibility: owns the pool that independent repository reads of
+ * one request run on, and opens FanOut scopes over it.
+ *
+ * The work is I/O-bound, so the pool is larger than the core count but
+ * bounded, as is its queue; when both are full a branch runs on the request
+ * thread instead. Branches see the caller's request attributes, so
+ * request-scoped caches such as UserLookupService's identity map still apply.
+ */
+@Service
+public class FanOutService {
+
+    private final ThreadPoolExecutor executor;
+    private final long defaultTimeoutMillis;
+
+    public FanOutService(MeterRegistry meterRegistry,
+                         @Value("${app.fanout.threads:16}") int threads,
+                         @Value("${app.fanout.queue-capacity:256}") int queueCapacity,
+                         @Value("${app.fanout.timeout-ms:2000}") long defaultTimeoutMillis) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fan-out-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        Gauge.builder("fanout.queue.size", executor, e -> e.getQueue().size())
+                .description("Fan-out branches waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("fanout.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Fan-out workers busy")
+                .register(meterRegistry);
+        // executor.* meters (pool size, queued, queue remaining, completed) tagged name=fan-out, for saturation alerts
+        new ExecutorServiceMetrics(executor, "fan-out", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /** Open a scope; close it (try-with-resources) once the branches are joined */
+    public FanOut open() {
+        return new FanOut(executor, FanOutService::withRequestContext, defaultTimeoutMillis);
+    }
+
+    private static Runnable withRequestContext(Runnable branch) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return branch;
+        }
+        return () -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                branch.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.backend.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -29,6 +32,19 @@ public class FileUploadService {
     // Centralized configuration for file upload settings
     private static final String UPLOAD_DIR = "uploads/";
 
+    private final Counter storedBytes;
+    private final Counter failedBytes;
+    private final DistributionSummary storedSizes;
+
+    public FileUploadService(MeterRegistry meterRegistry) {
+        this.storedBytes = uploadBytes(meterRegistry, "stored");
+        this.failedBytes = uploadBytes(meterRegistry, "failed");
+        this.storedSizes = DistributionSummary.builder("uploads.size")
+                .description("Size of each stored upload")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
     /**
      * Save uploaded file to filesystem
      * 
@@ -59,10 +75,13 @@ public class FileUploadService {
 
             // Save the file
             Files.write(filePath, file.getBytes());
+            storedBytes.increment(file.getSize());
+            storedSizes.record(file.getSize());
 
             return "/uploads/" + uniqueFilename;
 
         } catch (IOException e) {
+            failedBytes.increment(file.getSize());
             System.err.println("Error saving file: " + e.getMessage());
             return null;
         }
@@ -155,6 +174,14 @@ public class FileUploadService {
         }
     }
 
+    private static Counter uploadBytes(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("uploads.bytes")
+                .description("Bytes received in file uploads, by whether they were stored")
+                .baseUnit("bytes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     // SOLID PRINCIPLE: Single Responsibility Principle (SRP)
     // This helper method has a single responsibility - extracting file extension
     private String getFileExtension(String filename) {
@@ -0,0 +1,181 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BinDTOs.SensorReading;
+import com.example.backend.exception.CustomException;
+import com.example.backend.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bin sensor ingestion.
+ * Single Responsibility: buffering sensor readings and writing them in bulk.
+ *
+ * Request threads only put readings into a lock-free ring buffer. A single
+ * flusher drains it on a fixed delay, keeps the newest reading per bin for
+ * the window and hands the result to FillLevelService as one bulk write.
+ * When the ring is full new readings are refused, so a sensor storm slows
+ * the senders down instead of the database. A window that cannot be written
+ * is kept and merged into the next one.
+ *
+ * Sensors authenticate with the shared key in app.bins.ingest.sensor-key;
+ * without one configured only administrators can submit readings.
+ */
+@Service
+public class FillLevelIngestionService {
+
+    public static final int MAX_BATCH = 1000;
+
+    private final FillLevelService fillLevelService;
+    private final MpscRingBuffer<Pending> buffer;
+    private final Map<String, Pending> window = new HashMap<>(); // flusher thread only
+    private final int maxDrainPerFlush;
+    private final byte[] sensorKey; // empty when no sensor key is configured
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter coalesced;
+    private final Counter written;
+    private final Timer lag;
+    private final Timer flushes;
+
+    public FillLevelIngestionService(FillLevelService fillLevelService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.bins.ingest.buffer-capacity:65536}") int bufferCapacity,
+                                     @Value("${app.bins.ingest.max-drain:100000}") int maxDrainPerFlush,
+                                     @Value("${app.bins.ingest.sensor-key:}") String sensorKey) {
+        this.fillLevelService = fillLevelService;
+        this.sensorKey = sensorKey == null ? new byte[0] : sensorKey.getBytes(StandardCharsets.UTF_8);
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.maxDrainPerFlush = maxDrainPerFlush;
+        this.accepted = readings(meterRegistry, "accepted");
+        this.rejected = readings(meterRegistry, "rejected");
+        this.coalesced = readings(meterRegistry, "coalesced");
+        this.written = readings(meterRegistry, "written");
+        this.lag = Timer.builder("bins.ingest.lag")
+                .description("Time from a reading being accepted to its window being written")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushes = Timer.builder("bins.ingest.flush")
+                .description("Duration of each bulk write of a coalesced window")
+                .register(meterRegistry);
+        Gauge.builder("bins.ingest.buffer.size", buffer, MpscRingBuffer::size)
+                .description("Readings waiting in the ingestion ring buffer")
+                .register(meterRegistry);
+    }
+
+    /** Whether the presented key is the configured sensor key; always false when none is configured */
+    public boolean isSensorKey(String presented) {
+        if (sensorKey.length == 0 || presented == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(sensorKey, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Queue a batch of sensor readings.
+     * @return how many readings were accepted, in order; the rest were refused because the buffer is full
+     */
+    public int ingest(List<SensorReading> readings) {
+        if (readings == null || readings.isEmpty()) {
+            return 0;
+        }
+        if (readings.size() > MAX_BATCH) {
+            throw new CustomException("A batch can hold at most " + MAX_BATCH + " readings");
+        }
+        Instant receivedAt = Instant.now();
+        long enqueuedAt = System.nanoTime();
+        int count = 0;
+        for (SensorReading reading : readings) {
+            if (reading == null || reading.accountId == null || reading.accountId.isBlank()
+                    || Double.isNaN(reading.level) || Double.isInfinite(reading.level)) {
+                throw new CustomException("Each reading needs an accountId and a numeric level");
+            }
+        }
+        for (SensorReading reading : readings) {
+            if (reading.time == null || reading.time.isAfter(receivedAt)) {
+                reading.time = receivedAt; // sensor clocks are not trusted to be ahead of ours
+            }
+            if (!buffer.offer(new Pending(reading, enqueuedAt))) {
+                break;
+            }
+            count++;
+        }
+        accepted.increment(count);
+        rejected.increment(readings.size() - count);
+        return count;
+    }
+
+    /** Drain the buffer, keep the newest reading per bin and write the window in bulk */
+    @Scheduled(fixedDelayString = "${app.bins.ingest.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        int drained = buffer.drain(this::coalesce, maxDrainPerFlush);
+        if (window.isEmpty()) {
+            return;
+        }
+        List<SensorReading> latest = new ArrayList<>(window.size());
+        long oldest = Long.MAX_VALUE;
+        for (Pending pending : window.values()) {
+            latest.add(pending.reading);
+            oldest = Math.min(oldest, pending.enqueuedAt);
+        }
+        long started = System.nanoTime();
+        try {
+            fillLevelService.recordAll(latest);
+            flushes.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            lag.record(System.nanoTime() - oldest, TimeUnit.NANOSECONDS);
+            written.increment(latest.size());
+            window.clear();
+        } catch (Exception e) {
+            // Keep the window; the next flush merges newer readings into it and tries again
+            System.err.println("Bin reading flush failed (" + latest.size() + " bins, " + drained + " new readings): " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void coalesce(Pending incoming) {
+        Pending current = window.get(incoming.reading.accountId);
+        if (current == null) {
+            window.put(incoming.reading.accountId, incoming);
+            return;
+        }
+        coalesced.increment();
+        // Newest reading wins, but the window's lag is measured from its oldest reading
+        SensorReading newest = incoming.reading.time.isBefore(current.reading.time) ? current.reading : incoming.reading;
+        window.put(newest.accountId, new Pending(newest, Math.min(current.enqueuedAt, incoming.enqueuedAt)));
+    }
+
+    private static Counter readings(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("bins.ingest.readings")
+                .description("Sensor readings by what happened to them")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Pending {
+        private final SensorReading reading;
+        private final long enqueuedAt; // System.nanoTime() when accepted
+
+        private Pending(SensorReading reading, long enqueuedAt) {
+            this.reading = reading;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BinDTOs.FillLevelPoint;
+import com.example.backend.dto.BinDTOs.FillLevelSample;
+import com.example.backend.dto.BinDTOs.SensorReading;
+import com.example.backend.exception.CustomException;
+import com.example.backend.model.FillLevelBucket;
+import com.example.backend.model.WasteAccount;
+import com.example.backend.util.FillLevelReadings;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bin fill-level history.
+ * Single Responsibility: storing and reading fill-level readings per bin.
+ *
+ * Readings are kept in one document per bin per UTC day, appended with $push
+ * and packed into ints, alongside a running count/sum/min/max for the day.
+ * The latest value is also kept on the waste account so the bin map stays a
+ * single read. Writes for many bins go out as two unordered bulk requests.
+ * Readings for unknown account IDs are dropped, and a reading already in its
+ * bucket is not appended again, so a partly written window can be retried.
+ */
+@Service
+public class FillLevelService {
+
+    public static final int MAX_RANGE_DAYS = 366;
+    public static final int MAX_SAMPLES = 2000;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final Duration ONE_DAY = Duration.ofDays(1);
+
+    private final MongoTemplate mongoTemplate;
+
+    public FillLevelService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Record new fill levels (percent, keyed by account ID) taken at the given time.
+     * @return number of waste accounts whose latest level changed
+     */
+    public int recordAll(Map<String, Double> levelsByAccountId, Instant at) {
+        List<SensorReading> readings = new ArrayList<>(levelsByAccountId.size());
+        for (Map.Entry<String, Double> entry : levelsByAccountId.entrySet()) {
+            SensorReading reading = new SensorReading();
+            reading.accountId = entry.getKey();
+            reading.level = entry.getValue();
+            reading.time = at;
+            readings.add(reading);
+        }
+        return recordAll(readings);
+    }
+
+    /**
+     * Record fill-level readings, each with its own time.
+     * Every reading of a known bin is appended to its day bucket once; a waste
+     * account is only written when its latest level actually changes and the
+     * reading is newer than the one already applied, so late readings never
+     * roll a bin back.
+     * @return number of waste accounts whose latest level changed
+     */
+    public int recordAll(List<SensorReading> readings) {
+        if (readings.isEmpty()) {
+            return 0;
+        }
+        Set<String> known = knownAccountIds(readings);
+        if (known.isEmpty()) {
+            return 0;
+        }
+        BulkOperations buckets = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FillLevelBucket.class);
+        BulkOperations accounts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WasteAccount.class);
+        for (SensorReading reading : readings) {
+            if (!known.contains(reading.accountId)) {
+                continue; // no bucket for IDs that are not waste accounts
+            }
+            ZonedDateTime utc = reading.time.atZone(ZoneOffset.UTC);
+            String day = utc.toLocalDate().toString();
+            int level = FillLevelReadings.toHundredths(reading.level);
+            int packed = FillLevelReadings.pack(utc.toLocalTime().toSecondOfDay(), level);
+
+            Update append = new Update()
+                    .setOnInsert("accountId", reading.accountId)
+                    .setOnInsert("day", day)
+                    .push("readings", packed)
+                    .inc("count", 1)
+                    .inc("sum", level)
+                    .min("min", level)
+                    .max("max", level);
+            // Matches only while the reading is not in the bucket yet; once it is, the upsert's insert
+            // fails on _id and is ignored, so the totals are not counted twice either
+            buckets.upsert(new Query(Criteria.where("_id").is(bucketId(reading.accountId, day)).and("readings").ne(packed)), append);
+
+            double percent = level / 100.0;
+            Query changed = new Query(Criteria.where("accountId").is(reading.accountId).and("capacity").ne(percent)
+                    .orOperator(Criteria.where("capacityUpdatedAt").exists(false),
+                            Criteria.where("capacityUpdatedAt").lte(reading.time)));
+            accounts.updateOne(changed, new Update().set("capacity", percent).set("capacityUpdatedAt", reading.time));
+        }
+        try {
+            buckets.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+        return accounts.execute().getModifiedCount();
+    }
+
+    // Account IDs of the batch that belong to a waste account, read through the unique account ID index
+    private Set<String> knownAccountIds(List<SensorReading> readings) {
+        Set<String> ids = new HashSet<>();
+        for (SensorReading reading : readings) {
+            ids.add(reading.accountId);
+        }
+        Query query = new Query(Criteria.where("accountId").in(ids));
+        query.fields().include("accountId");
+        Set<String> known = new HashSet<>();
+        for (WasteAccount account : mongoTemplate.find(query, WasteAccount.class)) {
+            known.add(account.getAccountId());
+        }
+        return known;
+    }
+
+    /** Every reading of a bin in [from, to), oldest first */
+    public List<FillLevelPoint> getReadings(String accountId, Instant from, Instant to) {
+        checkRange(from, to);
+        List<FillLevelPoint> points = new ArrayList<>();
+        for (FillLevelBucket bucket : findBuckets(accountId, from, to, true)) {
+            long dayStart = LocalDate.parse(bucket.getDay()).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+            if (bucket.getReadings() == null) {
+                continue;
+            }
+            for (int packed : bucket.getReadings()) {
+                Instant time = Instant.ofEpochSecond(dayStart + FillLevelReadings.secondOfDay(packed));
+                if (!time.isBefore(from) && time.isBefore(to)) {
+                    FillLevelPoint point = new FillLevelPoint();
+                    point.time = time;
+                    point.level = FillLevelReadings.level(packed) / 100.0;
+                    points.add(point);
+                }
+            }
+        }
+        points.sort(Comparator.comparing(point -> point.time));
+        return points;
+    }
+
+    /**
+     * Readings of a bin in [from, to) reduced to one sample per step, for charts.
+     * Whole-day steps starting at UTC midnight are answered from the bucket totals
+     * without unpacking any readings. Steps without readings are left out.
+     */
+    public List<FillLevelSample> downsample(String accountId, Instant from, Instant to, Duration step) {
+        checkRange(from, to);
+        if (step.isNegative() || step.isZero() || step.getSeconds() < 60) {
+            throw new CustomException("Step must be at least one minute");
+        }
+        long stepSeconds = step.getSeconds();
+        long span = to.getEpochSecond() - from.getEpochSecond();
+        if ((span + stepSeconds - 1) / stepSeconds > MAX_SAMPLES) {
+            throw new CustomException("Too many samples requested; use a larger step");
+        }
+
+        boolean dailyTotals = stepSeconds % ONE_DAY.getSeconds() == 0
+                && from.getEpochSecond() % ONE_DAY.getSeconds() == 0
+                && to.getEpochSecond() % ONE_DAY.getSeconds() == 0;
+        Sample[] samples = new Sample[(int) ((span + stepSeconds - 1) / stepSeconds)];
+
+        if (dailyTotals) {
+            for (FillLevelBucket bucket : findBuckets(accountId, from, to, false)) {
+                long dayStart = LocalDate.parse(bucket.getDay()).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+                int index = (int) ((dayStart - from.getEpochSecond()) / stepSeconds);
+                if (index >= 0 && index < samples.length && bucket.getCount() > 0) {
+                    sample(samples, index).addTotals(bucket.getCount(), bucket.getSum(), bucket.getMin(), bucket.getMax());
+                }
+            }
+        } else {
+            for (FillLevelPoint point : getReadings(accountId, from, to)) {
+                int index = (int) ((point.time.getEpochSecond() - from.getEpochSecond()) / stepSeconds);
+                int level = FillLevelReadings.toHundredths(point.level);
+                sample(samples, index).addTotals(1, level, level, level);
+            }
+        }
+
+        List<FillLevelSample> result = new ArrayList<>();
+        for (int i = 0; i < samples.length; i++) {
+            Sample sample = samples[i];
+            if (sample == null) {
+                continue;
+            }
+            FillLevelSample out = new FillLevelSample();
+            out.start = from.plusSeconds(i * stepSeconds);
+            out.readings = sample.count;
+            out.average = Math.round((double) sample.sum / sample.count) / 100.0;
+            out.min = sample.min / 100.0;
+            out.max = sample.max / 100.0;
+            result.add(out);
+        }
+        return result;
+    }
+
+    private static String bucketId(String accountId, String day) {
+        return accountId + "|" + day;
+    }
+
+    // Buckets of the UTC days touched by [from, to), found by an _id range since ids start with the account
+    private List<FillLevelBucket> findBuckets(String accountId, Instant from, Instant to, boolean withReadings) {
+        String firstDay = from.atZone(ZoneOffset.UTC).toLocalDate().toString();
+        String lastDay = to.minusNanos(1).atZone(ZoneOffset.UTC).toLocalDate().toString();
+        Query query = new Query(Criteria.where("_id").gte(bucketId(accountId, firstDay)).lte(bucketId(accountId, lastDay)));
+        if (withReadings) {
+            query.fields().include("day", "readings");
+        } else {
+            query.fields().include("day", "count", "sum", "min", "max");
+        }
+        query.with(Sort.by("_id"));
+        return mongoTemplate.find(query, FillLevelBucket.class);
+    }
+
+    private static void checkRange(Instant from, Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new CustomException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(MAX_RANGE_DAYS)) > 0) {
+            throw new CustomException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static Sample sample(Sample[] samples, int index) {
+        if (samples[index] == null) {
+            samples[index] = new Sample();
+        }
+        return samples[index];
+    }
+
+    private static final class Sample {
+        private int count;
+        private long sum;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+
+        private void addTotals(int count, long sum, int min, int max) {
+            this.count += count;
+            this.sum += sum;
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+        }
+    }
+}
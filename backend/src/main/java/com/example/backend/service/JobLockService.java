@@ -0,0 +1,56 @@
+package com.example.backend.service;
+
+import com.example.backend.model.JobLock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cluster-wide locks for scheduled jobs.
+ * Single Responsibility: lets one node at a time run a job that every node schedules.
+ *
+ * A lock is a lease: the holder owns the job until lockedUntil, so a node
+ * that dies mid-run blocks the job for at most one lease. Taking a free or
+ * expired lock is a single upsert; when another node holds it, the upsert's
+ * insert fails on _id and the lock is reported as taken.
+ */
+@Service
+public class JobLockService {
+
+    private final MongoTemplate mongoTemplate;
+    private final String owner = UUID.randomUUID().toString(); // this node
+
+    public JobLockService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /** Take the job's lock for the lease; false when another node holds it */
+    public boolean tryLock(String job, Duration lease) {
+        Instant now = Instant.now();
+        Query freeOrExpired = new Query(Criteria.where("_id").is(job).and("lockedUntil").lte(now));
+        try {
+            mongoTemplate.findAndModify(freeOrExpired,
+                    new Update().set("owner", owner).set("lockedUntil", now.plus(lease)).set("lockedAt", now),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    JobLock.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /** Give the lock back early; only the node that holds it can */
+    public void unlock(String job) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(job).and("owner").is(owner)),
+                new Update().set("lockedUntil", Instant.now()),
+                JobLock.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.backend.service;
+
+import com.example.backend.event.SpecialCollectionMissedEvent;
+import com.example.backend.model.SpecialCollection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Overdue special collections.
+ * Single Responsibility: moves collections whose pickup date has passed
+ * while still Pending/Scheduled to Missed, so they drop out of the map and
+ * dashboard. Runs on the scheduler pool, reads through the (status, date)
+ * index and writes in bounded unordered bulk batches.
+ */
+@Service
+public class OverdueCollectionSweeper {
+
+    private static final List<String> OPEN_STATUSES = List.of("Pending", "Scheduled");
+    private static final String MISSED = "Missed";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public OverdueCollectionSweeper(MongoTemplate mongoTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.overdue-sweeper.batch-size:500}") int batchSize,
+                                    @Value("${app.overdue-sweeper.max-batches:20}") int maxBatchesPerRun) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(initialDelayString = "${app.overdue-sweeper.initial-delay-ms:60000}",
+               fixedDelayString = "${app.overdue-sweeper.interval-ms:3600000}")
+    public void sweep() {
+        try {
+            int total = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int found = sweepBatch(LocalDate.now().toString());
+                total += found;
+                if (found < batchSize) break; // nothing more overdue
+            }
+            if (total > 0) {
+                System.out.println("Overdue sweeper checked " + total + " overdue special collections");
+            }
+        } catch (Exception e) {
+            System.err.println("Overdue sweeper failed: " + e.getMessage());
+        }
+    }
+
+    /** Transition one batch of collections dated before today; returns how many were found */
+    int sweepBatch(String today) {
+        // Equality on status and a range on date: served entirely by the status_date_idx index
+        Query overdue = new Query(Criteria.where("status").in(OPEN_STATUSES).and("date").lt(today))
+                .with(Sort.by("status", "date"))
+                .limit(batchSize);
+        overdue.fields().include("userId", "status", "date", "timeSlot");
+        List<SpecialCollection> candidates = mongoTemplate.find(overdue, SpecialCollection.class);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime sweptAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS); // stored precision, so it can be matched below
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SpecialCollection.class);
+        for (SpecialCollection sc : candidates) {
+            // Guard on the status we read, so a pickup marked collected meanwhile is left alone
+            bulk.updateOne(
+                    new Query(Criteria.where("_id").is(sc.getId()).and("status").is(sc.getStatus())),
+                    new Update().set("status", MISSED).set("missedAt", sweptAt));
+        }
+        int modified = bulk.execute().getModifiedCount();
+
+        Set<String> transitioned = new HashSet<>(candidates.size());
+        if (modified == candidates.size()) {
+            candidates.forEach(sc -> transitioned.add(sc.getId()));
+        } else {
+            // Some lost a race; read back exactly which ones this sweep moved
+            List<String> ids = candidates.stream().map(SpecialCollection::getId).toList();
+            Query moved = new Query(Criteria.where("_id").in(ids).and("status").is(MISSED).and("missedAt").is(sweptAt));
+            moved.fields().include("_id");
+            mongoTemplate.find(moved, SpecialCollection.class).forEach(sc -> transitioned.add(sc.getId()));
+        }
+
+        for (SpecialCollection sc : candidates) {
+            if (transitioned.contains(sc.getId())) {
+                eventPublisher.publishEvent(new SpecialCollectionMissedEvent(this, sc.getId(), sc.getUserId(), sc.getDate(), sc.getTimeSlot()));
+            }
+        }
+        return candidates.size();
+    }
+}
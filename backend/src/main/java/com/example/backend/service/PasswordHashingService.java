@@ -0,0 +1,132 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password hashing.
+ * Single Responsibility: runs the CPU-bound BCrypt work on a dedicated pool
+ * sized to the cores, so a login burst cannot take every request thread's
+ * CPU. The queue is bounded; once it is full new requests are refused at
+ * once with ServiceBusyException (503) instead of piling up.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final int RETRY_AFTER_SECONDS = 2;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${app.auth.hashing.threads:0}") int threads,
+                                  @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.auth.hashing.timeout-ms:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Password hashing requests refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing workers busy")
+                .register(meterRegistry);
+        // executor.* meters (pool size, queued, queue remaining, completed) tagged name=password-hashing, for saturation alerts
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /** Hash a new password */
+    public String hash(String rawPassword) {
+        return run("hash", () -> encoder.encode(rawPassword));
+    }
+
+    /** Check a password against its stored hash */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run("matches", () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(String operation, Callable<T> work) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(operation, "queue", startedAt - submittedAt);
+                try {
+                    return work.call();
+                } finally {
+                    record(operation, "compute", System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many sign-in requests, please try again shortly", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Sign-in is taking too long, please try again shortly", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Sign-in was interrupted, please try again", RETRY_AFTER_SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            record(operation, "total", System.nanoTime() - submittedAt);
+        }
+    }
+
+    private void record(String operation, String phase, long nanos) {
+        Timer.builder("auth.password.hashing")
+                .description("Password hashing time per phase: queue wait, BCrypt compute and total")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
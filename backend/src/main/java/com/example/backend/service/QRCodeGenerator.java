@@ -10,6 +10,8 @@ import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Service responsible for QR code generation
@@ -17,11 +19,45 @@ import com.google.zxing.qrcode.QRCodeWriter;
  */
 @Service
 public class QRCodeGenerator {
+
+    private final MeterRegistry meterRegistry;
+
+    public QRCodeGenerator(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
     
     /**
      * Generates a QR code image as Base64 string
      */
     public String generateQRCode(String data) {
+        return Base64.getEncoder().encodeToString(timed("base64", data));
+    }
+    
+    /**
+     * Generates a QR code image as PNG bytes
+     */
+    public byte[] generateQRCodePng(String data) {
+        return timed("png", data);
+    }
+
+    private byte[] timed(String format, String data) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            byte[] png = render(data);
+            outcome = "success";
+            return png;
+        } finally {
+            sample.stop(Timer.builder("qr.render")
+                    .description("QR code rendering, by caller, output format and outcome")
+                    .tag("source", "account")
+                    .tag("format", format)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private byte[] render(String data) {
         try {
             QRCodeWriter qrCodeWriter = new QRCodeWriter();
             BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, 200, 200);
@@ -35,9 +71,7 @@ public class QRCodeGenerator {
             
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             ImageIO.write(bufferedImage, "PNG", baos);
-            byte[] imageBytes = baos.toByteArray();
-            
-            return Base64.getEncoder().encodeToString(imageBytes);
+            return baos.toByteArray();
         } catch (WriterException | java.io.IOException e) {
             throw new RuntimeException("Failed to generate QR code: " + e.getMessage(), e);
         }
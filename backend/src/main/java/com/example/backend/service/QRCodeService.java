@@ -5,6 +5,8 @@ import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
@@ -14,41 +16,58 @@ import java.util.Base64;
 @Service
 public class QRCodeService {
 
+    private final MeterRegistry meterRegistry;
+
+    public QRCodeService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     public String generateQRCodeBase64(String data, int width, int height) throws WriterException, IOException {
-        System.out.println("QRCodeService: Generating QR code base64 for data: " + data);
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, width, height);
-        System.out.println("QRCodeService: BitMatrix created successfully");
-        
-        ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", pngOutputStream);
-        byte[] pngData = pngOutputStream.toByteArray();
-        System.out.println("QRCodeService: PNG data generated, length: " + pngData.length);
-        
-        String base64 = Base64.getEncoder().encodeToString(pngData);
-        System.out.println("QRCodeService: Base64 encoded, length: " + base64.length());
-        return base64;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String base64 = Base64.getEncoder().encodeToString(renderPng(data, width, height));
+            outcome = "success";
+            return base64;
+        } finally {
+            sample.stop(renderTimer("base64", outcome));
+        }
     }
 
     public byte[] generateQRCodeBytes(String data, int width, int height) throws WriterException, IOException {
-        System.out.println("QRCodeService: Generating QR code bytes for data: " + data);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            byte[] png = renderPng(data, width, height);
+            outcome = "success";
+            return png;
+        } finally {
+            sample.stop(renderTimer("png", outcome));
+        }
+    }
+
+    private byte[] renderPng(String data, int width, int height) throws WriterException, IOException {
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
         BitMatrix bitMatrix = qrCodeWriter.encode(data, BarcodeFormat.QR_CODE, width, height);
-        System.out.println("QRCodeService: BitMatrix created successfully");
-        
+
         ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
         MatrixToImageWriter.writeToStream(bitMatrix, "PNG", pngOutputStream);
-        byte[] result = pngOutputStream.toByteArray();
-        System.out.println("QRCodeService: PNG bytes generated, length: " + result.length);
-        
-        return result;
+        return pngOutputStream.toByteArray();
+    }
+
+    private Timer renderTimer(String format, String outcome) {
+        return Timer.builder("qr.render")
+                .description("QR code rendering, by caller, output format and outcome")
+                .tag("source", "document")
+                .tag("format", format)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     public String generateCollectionQRData(String collectionId, String userId) {
         // Extract last 6 digits for simple ID
         String simpleId = collectionId.length() >= 6 ? collectionId.substring(collectionId.length() - 6) : collectionId;
         String qrData = String.format("EWS_COLLECTION:%s:%s", simpleId, userId);
-        System.out.println("QRCodeService: Generated collection QR data: " + qrData);
         return qrData;
     }
 
@@ -56,7 +75,6 @@ public class QRCodeService {
         // Extract last 6 digits for simple ID
         String simpleId = wasteId.length() >= 6 ? wasteId.substring(wasteId.length() - 6) : wasteId;
         String qrData = String.format("EWS_WASTE:%s:%s", simpleId, userId);
-        System.out.println("QRCodeService: Generated waste QR data: " + qrData);
         return qrData;
     }
 
@@ -66,7 +84,6 @@ public class QRCodeService {
         // Extract last 6 digits for simple ID
         String simpleId = wasteId.length() >= 6 ? wasteId.substring(wasteId.length() - 6) : wasteId;
         String qrData = String.format("EWS_WASTE:%s", simpleId);
-        System.out.println("QRCodeService: Generated detailed waste QR data: " + qrData);
         return qrData;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.backend.service;
 
 import com.example.backend.Waste.Waste;
+import com.example.backend.model.valueobjects.TariffSnapshot;
 import com.example.backend.strategy.PaybackStrategy;
 import com.example.backend.strategy.RecyclableWasteStrategy;
 import org.springframework.stereotype.Service;
@@ -32,12 +33,14 @@ public class RecyclableWasteService {
     // Depends on abstractions (interfaces) rather than concrete implementations
     private final RecyclableWasteStrategy recyclableWasteStrategy;
     private final Map<String, PaybackStrategy> paybackStrategies;
+    private final TariffService tariffService;
 
     // SOLID PRINCIPLE: Dependency Inversion Principle (DIP)
     // Constructor injection ensures dependencies are provided by Spring container
     public RecyclableWasteService(RecyclableWasteStrategy recyclableWasteStrategy,
-            List<PaybackStrategy> paybackStrategyList) {
+            List<PaybackStrategy> paybackStrategyList, TariffService tariffService) {
         this.recyclableWasteStrategy = recyclableWasteStrategy;
+        this.tariffService = tariffService;
         // SOLID PRINCIPLE: Open/Closed Principle (OCP)
         // Strategy pattern allows adding new payback methods without modifying this
         // code
@@ -60,6 +63,27 @@ public class RecyclableWasteService {
         return recyclableWasteStrategy.calculatePaybackAmount(weight, category);
     }
 
+    /**
+     * Calculate payback amount against a specific tariff version
+     * 
+     * @param weight   Weight in kg
+     * @param category Waste category
+     * @param tariff   Tariff snapshot to price with
+     * @return Calculated payback amount
+     */
+    public double calculatePaybackAmount(double weight, String category, TariffSnapshot tariff) {
+        return recyclableWasteStrategy.calculatePaybackAmount(weight, category, tariff);
+    }
+
+    /**
+     * Get the tariff currently used for pricing
+     * 
+     * @return Current tariff snapshot
+     */
+    public TariffSnapshot getCurrentTariff() {
+        return tariffService.current();
+    }
+
     /**
      * Validate recyclable waste submission
      * 
@@ -0,0 +1,297 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.CustomException;
+import com.example.backend.model.Reward;
+import com.example.backend.model.RewardRedemption;
+import com.example.backend.repository.RewardRedemptionRepository;
+import com.example.backend.repository.RewardRepository;
+import com.example.backend.util.StripedInventory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rewards catalogue and redemption.
+ * Single Responsibility: spends wallet points on catalogue items without
+ * selling more units than are in stock.
+ *
+ * Each server leases small blocks of stock from the reward document with
+ * conditional $inc updates and hands units out from a StripedInventory, so a
+ * burst of redemptions for one reward does not serialise on one document.
+ * Unsold leases are returned periodically and on shutdown.
+ *
+ * Every lease is recorded on the reward document with the server that took it
+ * and when it last grew, and every redemption records the lease it sold from.
+ * A lease that is not returned within the timeout belongs to a server that
+ * died, and any server gives its unsold units (leased minus redeemed) back.
+ */
+@Service
+public class RewardService {
+
+    private static final int MAX_LEASE_ATTEMPTS = 5;
+
+    private final RewardRepository rewardRepository;
+    private final RewardRedemptionRepository redemptionRepository;
+    private final DigitalWalletService digitalWalletService;
+    private final MongoTemplate mongoTemplate;
+    private final int leaseSize;
+    private final int stripes;
+    private final Duration leaseTimeout;
+    private final String node = UUID.randomUUID().toString();
+    private final Map<String, LocalStock> inventories = new ConcurrentHashMap<>();
+    private final Counter leasedUnits;
+    private final Counter returnedUnits;
+    private final Counter reclaimedUnits;
+    private final Counter unreturnedUnits;
+
+    public RewardService(RewardRepository rewardRepository,
+                         RewardRedemptionRepository redemptionRepository,
+                         DigitalWalletService digitalWalletService,
+                         MongoTemplate mongoTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.rewards.lease-size:8}") int leaseSize,
+                         @Value("${app.rewards.lease-timeout-ms:600000}") long leaseTimeoutMs) {
+        this.rewardRepository = rewardRepository;
+        this.redemptionRepository = redemptionRepository;
+        this.digitalWalletService = digitalWalletService;
+        this.mongoTemplate = mongoTemplate;
+        this.leaseSize = leaseSize;
+        this.stripes = Runtime.getRuntime().availableProcessors();
+        this.leaseTimeout = Duration.ofMillis(leaseTimeoutMs);
+        this.leasedUnits = stockUnits(meterRegistry, "leased");
+        this.returnedUnits = stockUnits(meterRegistry, "returned");
+        this.reclaimedUnits = stockUnits(meterRegistry, "reclaimed");
+        this.unreturnedUnits = stockUnits(meterRegistry, "return_failed");
+    }
+
+    /** Get the active catalogue, cheapest first, with the stock left (including units leased here) */
+    public List<Reward> getCatalogue() {
+        List<Reward> rewards = rewardRepository.findByActiveTrueOrderByPointsCostAsc();
+        for (Reward reward : rewards) {
+            LocalStock local = inventories.get(reward.getId());
+            if (local != null) {
+                reward.setStock(reward.getStock() + local.inventory.available());
+            }
+        }
+        return rewards;
+    }
+
+    /**
+     * Redeem one unit: takes a unit of stock, then deducts the points and records the redemption in one
+     * transaction, so points are never taken without a redemption to show for them. The unit goes back
+     * unless that transaction commits.
+     */
+    public RewardRedemption redeem(String userId, String rewardId) {
+        Reward reward = rewardRepository.findById(rewardId)
+                .orElseThrow(() -> new CustomException("Reward not found"));
+        if (!reward.isActive()) {
+            throw new CustomException("Reward is not available");
+        }
+
+        LocalStock stock = stockFor(rewardId);
+        if (!stock.inventory.tryAcquire()) {
+            throw new CustomException("Reward is out of stock");
+        }
+        // Read after acquiring: a unit is never counted against a lease older than the one it came from
+        String leaseId = stock.leaseId();
+
+        String description = "Redeemed reward: " + reward.getName();
+        boolean sold = false;
+        try {
+            RewardRedemption redemption = digitalWalletService.inTransactionWithRetry(status -> {
+                if (digitalWalletService.deduct(userId, reward.getPointsCost(), description).isEmpty()) {
+                    return null;
+                }
+                return redemptionRepository.save(RewardRedemption.builder()
+                        .userId(userId)
+                        .rewardId(rewardId)
+                        .rewardName(reward.getName())
+                        .pointsSpent(reward.getPointsCost())
+                        .createdAt(Instant.now())
+                        .leaseId(leaseId)
+                        .build());
+            });
+            if (redemption == null) {
+                throw new CustomException("Insufficient points");
+            }
+            sold = true;
+            return redemption;
+        } finally {
+            if (!sold) {
+                stock.inventory.release(); // Unit goes back for the next redeemer
+                digitalWalletService.forget(userId); // the cached balance may hold a debit that rolled back
+            }
+        }
+    }
+
+    /** Get the user's redemptions, newest first */
+    public List<RewardRedemption> getRedemptions(String userId) {
+        return redemptionRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    /** Add a reward to the catalogue */
+    public Reward create(Reward reward, String createdBy) {
+        if (reward.getName() == null || reward.getName().isBlank()) {
+            throw new CustomException("Reward name is required");
+        }
+        if (reward.getPointsCost() <= 0 || reward.getStock() < 0) {
+            throw new CustomException("Points cost must be positive and stock cannot be negative");
+        }
+        reward.setId(null);
+        reward.setCreatedAt(Instant.now());
+        reward.setCreatedBy(createdBy);
+        reward.setLeases(null);
+        return rewardRepository.save(reward);
+    }
+
+    /** Add units to a reward's stock */
+    public void restock(String rewardId, int quantity) {
+        if (quantity <= 0) {
+            throw new CustomException("Quantity must be positive");
+        }
+        long matched = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rewardId)),
+                new Update().inc("stock", quantity), Reward.class).getMatchedCount();
+        if (matched == 0) {
+            throw new CustomException("Reward not found");
+        }
+    }
+
+    /** Give unsold leased units back, so other servers and the catalogue see them */
+    @Scheduled(fixedDelayString = "${app.rewards.lease-return-ms:60000}")
+    @PreDestroy
+    public void returnLeases() {
+        inventories.values().forEach(LocalStock::returnUnsold);
+    }
+
+    /**
+     * Give back the unsold units of leases left by servers that stopped. Leases are returned every
+     * lease-return-ms, so one that has not grown for the timeout has no server behind it.
+     */
+    @Scheduled(fixedDelayString = "${app.rewards.lease-return-ms:60000}")
+    public void reclaimStaleLeases() {
+        Instant cutoff = Instant.now().minus(leaseTimeout);
+        Query staleQuery = Query.query(Criteria.where("leases.renewedAt").lt(cutoff));
+        staleQuery.fields().include("leases");
+        for (Reward reward : mongoTemplate.find(staleQuery, Reward.class)) {
+            for (Reward.StockLease lease : reward.getLeases()) {
+                if (lease.getRenewedAt() == null || !lease.getRenewedAt().isBefore(cutoff)) {
+                    continue;
+                }
+                long sold = mongoTemplate.count(Query.query(Criteria.where("leaseId").is(lease.getLeaseId())), RewardRedemption.class);
+                int unsold = (int) Math.max(0, lease.getUnits() - sold);
+                // Guarded on the lease still being recorded, so two servers never reclaim the same lease
+                long modified = mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(reward.getId()).and("leases.leaseId").is(lease.getLeaseId())),
+                        new Update().inc("stock", unsold).pull("leases", new Document("leaseId", lease.getLeaseId())),
+                        Reward.class).getModifiedCount();
+                if (modified == 1) {
+                    reclaimedUnits.increment(unsold);
+                }
+            }
+        }
+    }
+
+    private LocalStock stockFor(String rewardId) {
+        return inventories.computeIfAbsent(rewardId, LocalStock::new);
+    }
+
+    // Take up to max units off the stored stock and record them on this server's lease; the $gte guard makes an oversell impossible across servers
+    private int leaseFromStore(String rewardId, String leaseId, boolean newLease, int max) {
+        for (int attempt = 0; attempt < MAX_LEASE_ATTEMPTS; attempt++) {
+            Query stockQuery = Query.query(Criteria.where("_id").is(rewardId));
+            stockQuery.fields().include("stock");
+            Reward stored = mongoTemplate.findOne(stockQuery, Reward.class);
+            if (stored == null || stored.getStock() <= 0) {
+                return 0;
+            }
+            int take = Math.min(max, stored.getStock());
+            Criteria guard = Criteria.where("_id").is(rewardId).and("stock").gte(take);
+            Update update = new Update().inc("stock", -take);
+            if (newLease) {
+                update.push("leases", new Reward.StockLease(leaseId, node, take, Instant.now()));
+            } else {
+                guard.and("leases.leaseId").is(leaseId);
+                update.inc("leases.$.units", take).set("leases.$.renewedAt", Instant.now());
+            }
+            long modified = mongoTemplate.updateFirst(Query.query(guard), update, Reward.class).getModifiedCount();
+            if (modified == 1) {
+                leasedUnits.increment(take);
+                return take;
+            }
+        }
+        throw new CustomException("Reward is in high demand, please try again"); // stock keeps moving under other servers
+    }
+
+    private static Counter stockUnits(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("rewards.stock.units")
+                .description("Reward stock units moved between the catalogue and server leases")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // This server's units of one reward and the lease they are recorded under
+    private final class LocalStock {
+        private final String rewardId;
+        private final StripedInventory inventory;
+        private String leaseId = new ObjectId().toHexString(); // guarded by this
+        private boolean recorded; // guarded by this; the lease is on the reward document
+
+        private LocalStock(String rewardId) {
+            this.rewardId = rewardId;
+            this.inventory = new StripedInventory(stripes, leaseSize, this::lease);
+        }
+
+        private synchronized String leaseId() {
+            return leaseId;
+        }
+
+        // Called by the inventory on refill; holding the lock keeps a refill from landing between rotate and drain
+        private synchronized int lease(int max) {
+            int taken = leaseFromStore(rewardId, leaseId, !recorded, max);
+            if (taken > 0) {
+                recorded = true;
+            }
+            return taken;
+        }
+
+        // Start a new lease, then give back the old lease's unsold units and drop its record in one update
+        private void returnUnsold() {
+            String returning;
+            boolean hadRecord;
+            int unsold;
+            synchronized (this) {
+                returning = leaseId;
+                hadRecord = recorded;
+                leaseId = new ObjectId().toHexString();
+                recorded = false;
+                unsold = inventory.drain();
+            }
+            if (!hadRecord && unsold == 0) {
+                return;
+            }
+            try {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rewardId)),
+                        new Update().inc("stock", unsold).pull("leases", new Document("leaseId", returning)), Reward.class);
+                returnedUnits.increment(unsold);
+            } catch (Exception e) {
+                unreturnedUnits.increment(unsold); // the lease record stays, so the units are reclaimed once it times out
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.CustomException;
+import com.example.backend.model.SlotCapacity;
+import com.example.backend.repository.SpecialCollectionRepository;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Special collection slot capacity.
+ * Single Responsibility: keeps one counter document per (date, slot) and
+ * changes it only with conditional $inc updates, so a slot can never be
+ * booked past MAX_PER_SLOT. Multi-slot changes run in a Mongo transaction
+ * that is retried on write conflicts.
+ */
+@Service
+public class SlotCapacityService {
+
+    public static final int MAX_PER_SLOT = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final SpecialCollectionRepository specialCollectionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    public SlotCapacityService(MongoTemplate mongoTemplate,
+                               SpecialCollectionRepository specialCollectionRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.slots.transaction-max-attempts:5}") int maxAttempts) {
+        this.mongoTemplate = mongoTemplate;
+        this.specialCollectionRepository = specialCollectionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /** Get the number of bookings in a slot */
+    public int booked(String date, String timeSlot) {
+        return ensureCounter(date, timeSlot).getBooked();
+    }
+
+    /**
+     * Make sure the counter exists, seeding it from the bookings already stored.
+     * Call outside a transaction: a lost insert race would abort it.
+     */
+    public SlotCapacity ensureCounter(String date, String timeSlot) {
+        String id = SlotCapacity.idFor(date, timeSlot);
+        SlotCapacity counter = mongoTemplate.findById(id, SlotCapacity.class);
+        if (counter != null) {
+            return counter;
+        }
+        int existing = (int) specialCollectionRepository.countByDateAndTimeSlot(date, timeSlot);
+        try {
+            return mongoTemplate.insert(new SlotCapacity(id, date, timeSlot, existing));
+        } catch (DuplicateKeyException e) {
+            return mongoTemplate.findById(id, SlotCapacity.class); // another request seeded it first
+        }
+    }
+
+    /** Take one place in the slot if it is not full; the counter must exist */
+    public boolean tryReserve(String date, String timeSlot) {
+        Query notFull = new Query(Criteria.where("_id").is(SlotCapacity.idFor(date, timeSlot)).and("booked").lt(MAX_PER_SLOT));
+        return mongoTemplate.updateFirst(notFull, new Update().inc("booked", 1), SlotCapacity.class).getModifiedCount() == 1;
+    }
+
+    /** Give back one place in the slot */
+    public void release(String date, String timeSlot) {
+        Query booked = new Query(Criteria.where("_id").is(SlotCapacity.idFor(date, timeSlot)).and("booked").gt(0));
+        mongoTemplate.updateFirst(booked, new Update().inc("booked", -1), SlotCapacity.class);
+    }
+
+    /**
+     * Run work in a transaction, retrying it when Mongo reports a transient
+     * error (write conflict with a concurrent booking, unknown commit result).
+     * The work must be safe to repeat.
+     */
+    public <T> T inTransactionWithRetry(String operation, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        int attempt = 0;
+        try {
+            while (true) {
+                attempt++;
+                try {
+                    T result = transactionTemplate.execute(status -> work.get());
+                    outcome = "success";
+                    return result;
+                } catch (CustomException e) {
+                    outcome = "rejected";
+                    throw e;
+                } catch (RuntimeException e) {
+                    if (!isTransient(e)) {
+                        throw e;
+                    }
+                    Counter.builder("special_collection.slot.conflicts")
+                            .description("Slot transactions aborted by a conflicting write and retried")
+                            .tag("operation", operation)
+                            .register(meterRegistry)
+                            .increment();
+                    if (attempt >= maxAttempts) {
+                        outcome = "contention";
+                        throw new CustomException("The selected slot is busy, please try again");
+                    }
+                    backoff(attempt);
+                }
+            }
+        } finally {
+            DistributionSummary.builder("special_collection.slot.attempts")
+                    .description("Transaction attempts per slot operation")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(attempt);
+            sample.stop(Timer.builder("special_collection.slot.transaction")
+                    .description("Duration of slot operations including retries")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof MongoException mongo
+                    && (mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)
+                        || mongo.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)
+                        || mongo.getCode() == 112)) { // WriteConflict
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Randomised exponential backoff so competing requests do not collide again
+    private static void backoff(int attempt) {
+        long maxMillis = 5L << Math.min(attempt, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("Interrupted while rescheduling");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.service;
+
+import com.example.backend.model.SpecialCollection;
+import com.example.backend.repository.SpecialCollectionRepository;
+import com.example.backend.util.LruCache;
+import com.example.backend.util.ReceiptTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class SpecialCollectionReceiptService { // Renders receipts and monthly statements for special collections
+
+    private static final ReceiptTemplate RECEIPT_TEMPLATE = ReceiptTemplate.compile(ReceiptTemplate.DEFAULT_TEMPLATE); // Compiled once per JVM
+    private static final byte[] RECEIPT_SEPARATOR = "\n".getBytes(StandardCharsets.UTF_8); // Blank line between receipts in a statement
+
+    private final SpecialCollectionRepository specialCollectionRepository; // Repository for database operations
+    private final LruCache<String, CachedReceipt> paidReceipts; // Rendered receipts of paid collections, keyed by collection ID
+    private final long cacheTtlMillis; // Bounds staleness from edits and reschedules handled by other nodes
+
+    public SpecialCollectionReceiptService(SpecialCollectionRepository specialCollectionRepository, // Constructor injection
+                                           @Value("${app.receipts.cache-size:1000}") int cacheSize,
+                                           @Value("${app.receipts.cache-ttl-ms:60000}") long cacheTtlMillis) {
+        this.specialCollectionRepository = specialCollectionRepository;
+        this.paidReceipts = new LruCache<>(cacheSize);
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    public Optional<byte[]> findReceipt(String userId, String collectionId) { // Get receipt bytes for a collection owned by the user
+        CachedReceipt cached = cachedReceipt(collectionId); // Paid receipts rarely change, so serve them without a database read for a while
+        if (cached != null) {
+            return cached.userId.equals(userId) ? Optional.of(cached.content) : Optional.empty(); // Never leak another user's receipt
+        }
+
+        Optional<SpecialCollection> collection = specialCollectionRepository.findByIdAndUserId(collectionId, userId); // Single indexed lookup scoped to the owner
+        return collection.map(this::renderAndCache);
+    }
+
+    public void writeStatement(String userId, YearMonth month, OutputStream out) throws IOException { // Stream every receipt of a month in one pass
+        String from = month.atDay(1).toString(); // Dates are stored as yyyy-MM-dd strings, so a string range selects the month
+        String to = month.plusMonths(1).atDay(1).toString();
+
+        out.write(("EcoWaste Solutions - Statement " + month + "\n\n").getBytes(StandardCharsets.UTF_8)); // Statement header
+        try (Stream<SpecialCollection> collections = specialCollectionRepository.streamStatement(userId, from, to)) { // Cursor-backed, one document at a time
+            for (SpecialCollection sc : (Iterable<SpecialCollection>) collections::iterator) {
+                CachedReceipt cached = cachedReceipt(sc.getId()); // Reuse an already rendered paid receipt
+                if (cached != null) {
+                    out.write(cached.content);
+                } else {
+                    RECEIPT_TEMPLATE.renderTo(sc, out); // Render straight into the response stream
+                }
+                out.write(RECEIPT_SEPARATOR);
+            }
+        }
+        out.flush();
+    }
+
+    public void evict(String collectionId) { // Drop a cached receipt after its collection changes
+        paidReceipts.remove(collectionId);
+    }
+
+    private CachedReceipt cachedReceipt(String collectionId) { // Cached receipt still within its TTL, or null
+        CachedReceipt cached = paidReceipts.get(collectionId);
+        return cached != null && System.currentTimeMillis() - cached.cachedAt <= cacheTtlMillis ? cached : null;
+    }
+
+    private byte[] renderAndCache(SpecialCollection sc) { // Render receipt and keep it if the collection is paid
+        byte[] content = RECEIPT_TEMPLATE.render(sc);
+        if ("Paid".equalsIgnoreCase(sc.getPaymentStatus())) { // Only paid receipts are final
+            paidReceipts.put(sc.getId(), new CachedReceipt(sc.getUserId(), content, System.currentTimeMillis()));
+        }
+        return content;
+    }
+
+    private static final class CachedReceipt { // Rendered receipt plus its owner for authorisation on cache hits
+        private final String userId;
+        private final byte[] content;
+        private final long cachedAt;
+
+        private CachedReceipt(String userId, byte[] content, long cachedAt) {
+            this.userId = userId;
+            this.content = content;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
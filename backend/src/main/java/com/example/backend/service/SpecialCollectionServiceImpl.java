@@ -3,12 +3,15 @@ package com.example.backend.service;
 import com.example.backend.dto.SpecialCollectionDTOs.FeeRequest;
 import com.example.backend.dto.SpecialCollectionDTOs.ScheduleRequest;
 import com.example.backend.exception.CustomException;
+import com.example.backend.exception.ServiceBusyException;
 import com.example.backend.model.SpecialCollection;
 import com.example.backend.model.User;
+import com.example.backend.model.valueobjects.TariffSnapshot;
 import com.example.backend.repository.SpecialCollectionRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.strategy.FeeCalculationStrategy;
 import com.example.backend.strategy.SchedulingStrategy;
+import com.example.backend.util.FanOut;
 import com.example.backend.util.SpecialCollectionEmailHelper;
 import com.example.backend.util.SpecialCollectionMapper;
 import com.example.backend.util.SpecialCollectionValidator;
@@ -34,8 +37,11 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
     private final SpecialCollectionValidator validator; // Helper for validation logic
     private final SpecialCollectionMapper mapper; // Helper for data mapping
     private final SpecialCollectionEmailHelper emailHelper; // Helper for email operations
+    private final SpecialCollectionReceiptService receiptService; // Service holding cached receipts
+    private final TariffService tariffService; // Service holding the current tariff
+    private final SlotCapacityService slotCapacityService; // Service holding per-slot booking counters
+    private final FanOutService fanOutService; // Pool for independent reads of one request
 
-    private static final int MAX_PER_SLOT = 10; // Maximum collections per time slot
     private static final List<String> ALL_SLOTS = Arrays.asList("Morning", "Afternoon"); // Available time slots
     public SpecialCollectionServiceImpl(SpecialCollectionRepository specialCollectionRepository, // Constructor with dependency injection
                                         UserRepository userRepository,
@@ -45,7 +51,11 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
                                         SchedulingStrategy schedulingStrategy,
                                         SpecialCollectionValidator validator,
                                         SpecialCollectionMapper mapper,
-                                        SpecialCollectionEmailHelper emailHelper) {
+                                        SpecialCollectionEmailHelper emailHelper,
+                                        SpecialCollectionReceiptService receiptService,
+                                        TariffService tariffService,
+                                        SlotCapacityService slotCapacityService,
+                                        FanOutService fanOutService) {
         this.specialCollectionRepository = specialCollectionRepository; // Initialize repository
         this.userRepository = userRepository; // Initialize user repository
         this.emailService = emailService; // Initialize email service
@@ -55,6 +65,10 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
         this.validator = validator; // Initialize validator helper
         this.mapper = mapper; // Initialize mapper helper
         this.emailHelper = emailHelper; // Initialize email helper
+        this.receiptService = receiptService; // Initialize receipt service
+        this.tariffService = tariffService; // Initialize tariff service
+        this.slotCapacityService = slotCapacityService; // Initialize slot capacity service
+        this.fanOutService = fanOutService; // Initialize fan-out service
     }
 
     @Override
@@ -74,29 +88,53 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
 
     @Override
     public SpecialCollection schedule(String userId, ScheduleRequest req) { // Schedule new collection
-        try {
-            validator.validateUserEligibility(userId); // Validate user can schedule collections
-        } catch (RuntimeException e) {
-            throw new CustomException(e.getMessage()); // Convert to custom exception
+        try (FanOut reads = fanOutService.open()) { // The three reads are independent, so they run in parallel
+            FanOut.Branch<Void> standing = reads.fork("user", () -> { validator.validateUserStanding(userId); return null; });
+            FanOut.Branch<Void> unpaid = reads.fork("unpaid collections", () -> { validator.validateNoUnpaidCollections(userId); return null; });
+            FanOut.Branch<List<String>> slots = reads.fork("available slots",
+                    () -> req != null && req.date != null ? getAvailableSlots(req.date) : List.<String>of());
+            
+            try {
+                standing.join(); // Joined in the order the checks report their errors
+                unpaid.join();
+            } catch (ServiceBusyException e) {
+                throw e; // A branch timed out; let the client retry
+            } catch (RuntimeException e) {
+                throw new CustomException(e.getMessage()); // Convert to custom exception
+            }
+            
+            try {
+                validator.validateScheduleRequest(req); // Validate schedule request data
+            } catch (IllegalArgumentException e) {
+                throw new CustomException(e.getMessage()); // Convert to custom exception
+            }
+            
+            try {
+                validator.validateSlotAvailability(req.date, req.timeSlot, slots.join()); // Validate slot availability
+            } catch (ServiceBusyException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new CustomException(e.getMessage()); // Convert to custom exception
+            }
         }
         
-        try {
-            validator.validateScheduleRequest(req); // Validate schedule request data
-        } catch (IllegalArgumentException e) {
-            throw new CustomException(e.getMessage()); // Convert to custom exception
+        TariffSnapshot tariff = tariffService.current(); // Price and record against one tariff version
+        double calculatedFee = feeCalculationStrategy.calculateFee(mapper.toFeeRequest(req), tariff); // Calculate collection fee
+        SpecialCollection collection = mapper.mapToEntity(userId, req, calculatedFee); // Map request to entity
+        collection.setTariffVersion(tariff.getVersion()); // Record tariff version used for the fee
+        
+        slotCapacityService.ensureCounter(collection.getDate(), collection.getTimeSlot()); // Seed slot counter before reserving
+        if (!slotCapacityService.tryReserve(collection.getDate(), collection.getTimeSlot())) { // Atomically take a place in the slot
+            throw new CustomException("No slots available for selected date/time"); // Slot filled up since the availability check
         }
         
-        List<String> slots = getAvailableSlots(req.date); // Get available slots for date
+        SpecialCollection saved;
         try {
-            validator.validateSlotAvailability(req.date, req.timeSlot, slots); // Validate slot availability
+            saved = specialCollectionRepository.save(collection); // Save collection to database
         } catch (RuntimeException e) {
-            throw new CustomException(e.getMessage()); // Convert to custom exception
+            slotCapacityService.release(collection.getDate(), collection.getTimeSlot()); // Give the place back if the booking was not stored
+            throw e;
         }
-        
-        double calculatedFee = calculateFee(mapper.toFeeRequest(req)); // Calculate collection fee
-        SpecialCollection collection = mapper.mapToEntity(userId, req, calculatedFee); // Map request to entity
-        
-        SpecialCollection saved = specialCollectionRepository.save(collection); // Save collection to database
         String qrData = qrCodeService.generateCollectionQRData(saved.getId(), userId); // Generate QR code data
         saved.setQrCodeData(qrData); // Set QR code data
         saved = specialCollectionRepository.save(saved); // Save updated collection with QR data
@@ -108,15 +146,6 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
 
     @Override
     public SpecialCollection reschedule(String userId, String collectionId, String date, String timeSlot) { // Reschedule existing collection
-        SpecialCollection sc = specialCollectionRepository.findById(collectionId) // Find collection by ID
-                .orElseThrow(() -> new CustomException("Collection not found")); // Throw exception if not found
-        
-        try {
-            validator.validateUserAuthorization(sc, userId); // Validate user owns collection
-        } catch (RuntimeException e) {
-            throw new CustomException(e.getMessage()); // Convert to custom exception
-        }
-        
         try {
             validator.validateReschedulingRules(date, timeSlot); // Validate rescheduling rules
         } catch (RuntimeException e) {
@@ -130,9 +159,34 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
             throw new CustomException(e.getMessage()); // Convert to custom exception
         }
         
-        mapper.updateCollectionSchedule(sc, date, timeSlot); // Update collection schedule
+        String newSlot = mapper.normalizeTimeSlot(timeSlot); // Counters are kept per normalized slot
+        slotCapacityService.ensureCounter(date, newSlot); // Seed outside the transaction, an insert race would abort it
         
-        return specialCollectionRepository.save(sc); // Save updated collection
+        SpecialCollection saved = slotCapacityService.inTransactionWithRetry("reschedule", () -> { // Move capacity and update the collection atomically
+            SpecialCollection sc = specialCollectionRepository.findById(collectionId) // Find collection by ID
+                    .orElseThrow(() -> new CustomException("Collection not found")); // Throw exception if not found
+            
+            try {
+                validator.validateUserAuthorization(sc, userId); // Validate user owns collection
+            } catch (RuntimeException e) {
+                throw new CustomException(e.getMessage()); // Convert to custom exception
+            }
+            
+            String oldSlot = mapper.normalizeTimeSlot(sc.getTimeSlot());
+            if (date.equals(sc.getDate()) && newSlot.equals(oldSlot)) {
+                return sc; // Already in the requested slot, so a retried commit does not move capacity twice
+            }
+            
+            if (!slotCapacityService.tryReserve(date, newSlot)) { // Take a place in the new slot
+                throw new CustomException("No slots available for selected date/time"); // Slot filled up concurrently
+            }
+            slotCapacityService.release(sc.getDate(), oldSlot); // Free the place in the old slot
+            
+            mapper.updateCollectionSchedule(sc, date, timeSlot); // Update collection schedule
+            return specialCollectionRepository.save(sc); // Save updated collection
+        });
+        receiptService.evict(collectionId); // Receipt shows the old date and slot
+        return saved; // Return updated collection
     }
 
     @Override
@@ -174,6 +228,7 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
         
         sc.setPaymentStatus("Paid"); // Set payment status to paid
         SpecialCollection saved = specialCollectionRepository.save(sc); // Save updated collection
+        receiptService.evict(collectionId); // Receipt shows the payment status
         
         emailHelper.sendPaymentNotification(userId, saved, "Mock", true); // Send payment notification email
         
@@ -194,6 +249,7 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
         sc.setPaymentStatus("Pending"); // Set payment status to pending
         sc.setStatus("Scheduled"); // Set collection status to scheduled
         SpecialCollection saved = specialCollectionRepository.save(sc); // Save updated collection
+        receiptService.evict(collectionId); // Receipt shows the payment status
         
         emailHelper.sendPaymentNotification(userId, saved, "Cash", true); // Send cash payment notification email
         
@@ -213,6 +269,7 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
         
         sc.setPaymentStatus("Unpaid"); // Set payment status to unpaid
         SpecialCollection saved = specialCollectionRepository.save(sc); // Save updated collection
+        receiptService.evict(collectionId); // Receipt shows the payment status
         
         emailHelper.sendPaymentNotification(userId, saved, method == null ? "Card" : method, false); // Send payment failure notification email
         
@@ -237,6 +294,8 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
         }
         
         specialCollectionRepository.delete(sc); // Delete collection from database
+        slotCapacityService.release(sc.getDate(), mapper.normalizeTimeSlot(sc.getTimeSlot())); // Free the place in its slot
+        receiptService.evict(collectionId); // Drop any cached receipt
         return sc; // Return deleted collection
     }
 
@@ -325,7 +384,9 @@ public class SpecialCollectionServiceImpl implements SpecialCollectionService {
 
     @Override
     public SpecialCollection update(SpecialCollection collection) { // Update existing collection
-        return specialCollectionRepository.save(collection); // Save updated collection to database
+        SpecialCollection saved = specialCollectionRepository.save(collection); // Save updated collection to database
+        receiptService.evict(saved.getId()); // Fields on the receipt may have changed
+        return saved; // Return updated collection
     }
 
 }
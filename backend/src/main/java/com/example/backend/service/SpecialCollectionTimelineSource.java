@@ -0,0 +1,64 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.TimelineDTOs.TimelineEntry;
+import com.example.backend.model.SpecialCollection;
+import com.example.backend.util.TimelineCursor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.stream.Stream;
+
+//Special collections of a user, ordered by the time they were booked.
+@Component
+public class SpecialCollectionTimelineSource implements TimelineSource {
+
+    private final MongoTemplate mongoTemplate;
+
+    public SpecialCollectionTimelineSource(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public String getKey() {
+        return "s";
+    }
+
+    @Override
+    public boolean isValidId(String id) {
+        return ObjectId.isValid(id);
+    }
+
+    @Override
+    public Stream<TimelineEntry> stream(String userId, TimelineCursor.Position after, int limit, int batchSize) {
+        Criteria criteria = Criteria.where("userId").is(userId).and("createdAt").ne(null); // older records without a date cannot be placed on the timeline
+        if (after != null) {
+            Date timestamp = Date.from(after.getTimestamp());
+            criteria.orOperator(
+                    Criteria.where("createdAt").lt(timestamp),
+                    Criteria.where("createdAt").is(timestamp).and("_id").lt(new ObjectId(after.getId())));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit)
+                .cursorBatchSize(batchSize);
+        query.fields().include("category", "date", "timeSlot", "status", "fee", "createdAt");
+
+        return mongoTemplate.stream(query, SpecialCollection.class).map(this::toEntry);
+    }
+
+    private TimelineEntry toEntry(SpecialCollection sc) {
+        return new TimelineEntry(
+                "SPECIAL_COLLECTION",
+                sc.getId(),
+                sc.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                sc.getCategory() + " collection on " + sc.getDate() + " (" + sc.getTimeSlot() + ")",
+                sc.getStatus(),
+                sc.getFee());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.backend.service;
+
+import com.example.backend.exception.CustomException;
+import com.example.backend.model.Tariff;
+import com.example.backend.model.valueobjects.TariffSnapshot;
+import com.example.backend.repository.TariffRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versioned tariffs.
+ * Single Responsibility: keeps the compiled snapshot of the newest tariff
+ * version. Readers never lock; a new version is compiled into a fresh
+ * snapshot and swapped in atomically (copy-on-write).
+ */
+@Service
+public class TariffService {
+
+    private final TariffRepository tariffRepository;
+    private final AtomicReference<TariffSnapshot> current;
+
+    public TariffService(TariffRepository tariffRepository) {
+        this.tariffRepository = tariffRepository;
+        // Until the store has been read, price with the original rates (version 1)
+        this.current = new AtomicReference<>(TariffSnapshot.compile(TariffSnapshot.initialTariff()));
+    }
+
+    /** Get the snapshot used for pricing; callers should read it once per priced record */
+    public TariffSnapshot current() {
+        return current.get();
+    }
+
+    /** Pick up versions published by any node; seeds version 1 on an empty store */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.tariffs.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            Optional<Tariff> latest = tariffRepository.findLatestVersion();
+            if (latest.isEmpty()) {
+                seedInitialTariff();
+                return;
+            }
+            if (latest.get().getVersion() > current().getVersion()) {
+                tariffRepository.findByVersion(latest.get().getVersion()).ifPresent(this::install);
+            }
+        } catch (Exception e) {
+            System.err.println("Tariff refresh failed, keeping version " + current().getVersion() + ": " + e.getMessage());
+        }
+    }
+
+    /** Publish the given rates as the next tariff version */
+    public Tariff publish(Tariff rates, String createdBy) {
+        long nextVersion = tariffRepository.findLatestVersion().map(Tariff::getVersion).orElse(1L) + 1;
+        Tariff tariff = Tariff.builder()
+                .version(nextVersion)
+                .recyclableRates(rates.getRecyclableRates())
+                .defaultRecyclableRate(rates.getDefaultRecyclableRate())
+                .specialCollectionRates(rates.getSpecialCollectionRates())
+                .defaultSpecialCollectionRate(rates.getDefaultSpecialCollectionRate())
+                .createdAt(Instant.now())
+                .createdBy(createdBy)
+                .build();
+
+        TariffSnapshot snapshot;
+        try {
+            snapshot = TariffSnapshot.compile(tariff); // validate before anything is stored
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(e.getMessage());
+        }
+
+        Tariff saved;
+        try {
+            saved = tariffRepository.insert(tariff);
+        } catch (DuplicateKeyException e) {
+            throw new CustomException("Tariff version " + nextVersion + " was published concurrently, please retry");
+        }
+        swap(snapshot);
+        return saved;
+    }
+
+    /** Get a stored tariff version */
+    public Optional<Tariff> findByVersion(long version) {
+        Optional<Tariff> tariff = tariffRepository.findByVersion(version);
+        if (tariff.isEmpty() && version == 1) {
+            return Optional.of(TariffSnapshot.initialTariff());
+        }
+        return tariff;
+    }
+
+    private void seedInitialTariff() {
+        try {
+            tariffRepository.insert(TariffSnapshot.initialTariff());
+        } catch (DuplicateKeyException e) {
+            // another node seeded it first
+        }
+    }
+
+    private void install(Tariff tariff) {
+        try {
+            swap(TariffSnapshot.compile(tariff));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring invalid tariff version " + tariff.getVersion() + ": " + e.getMessage());
+        }
+    }
+
+    // Never move backwards if an older refresh finishes after a newer publish
+    private void swap(TariffSnapshot next) {
+        current.accumulateAndGet(next, (old, candidate) -> candidate.getVersion() > old.getVersion() ? candidate : old);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.TimelineDTOs.TimelineEntry;
+import com.example.backend.util.TimelineCursor;
+
+import java.util.stream.Stream;
+
+//Interface for one source of resident activity on the timeline.
+public interface TimelineSource {
+
+    /**
+     * Short key identifying this source inside a timeline cursor.
+     *
+     * @return The source key
+     */
+    String getKey();
+
+    /**
+     * Opens a lazy, index-ordered cursor over the user's entries, newest first,
+     * strictly after the given position.
+     *
+     * @param userId The user ID
+     * @param after Last position returned from this source, or null for the newest entry
+     * @param limit Maximum number of entries to return
+     * @param batchSize Number of entries fetched per round trip
+     * @return Stream of entries; must be closed by the caller
+     */
+    Stream<TimelineEntry> stream(String userId, TimelineCursor.Position after, int limit, int batchSize);
+
+    /**
+     * Checks that an ID taken from a client cursor can be used in this source's query.
+     *
+     * @param id The ID from the cursor position
+     * @return True if the ID has this source's ID format
+     */
+    default boolean isValidId(String id) {
+        return id != null && !id.isEmpty();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.backend.service;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.util.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service responsible for reading users by ID
+ * Single Responsibility: Memoised user lookups
+ *
+ * Within an HTTP request each user is loaded at most once: the first lookup is
+ * kept in an identity map stored on the request, so the validator, the email
+ * helper and the service all share one read. Across requests a small LRU keeps
+ * users for a short TTL (0 turns it off). Writers call {@link #evict} after
+ * saving a user so neither layer serves a stale copy.
+ */
+@Service
+public class UserLookupService {
+
+    private static final String REQUEST_ATTRIBUTE = UserLookupService.class.getName() + ".users";
+
+    private final UserRepository userRepository;
+    private final LruCache<String, CachedUser> sharedCache;
+    private final long sharedCacheTtlMillis;
+    private final Counter requestHits;
+    private final Counter cacheHits;
+    private final Counter databaseReads;
+
+    public UserLookupService(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.users.cache-size:1000}") int cacheSize,
+                             @Value("${app.auth.user-cache-ttl-ms:30000}") long sharedCacheTtlMillis) {
+        this.userRepository = userRepository;
+        this.sharedCache = new LruCache<>(cacheSize);
+        this.sharedCacheTtlMillis = sharedCacheTtlMillis;
+        this.requestHits = lookups(meterRegistry, "request");
+        this.cacheHits = lookups(meterRegistry, "cache");
+        this.databaseReads = lookups(meterRegistry, "database");
+    }
+
+    public Optional<User> findById(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        Map<String, Optional<User>> requestUsers = requestUsers();
+        if (requestUsers != null) {
+            Optional<User> seen = requestUsers.get(userId);
+            if (seen != null) {
+                requestHits.increment();
+                return seen;
+            }
+        }
+
+        Optional<User> user = loadShared(userId);
+        if (requestUsers != null) {
+            requestUsers.put(userId, user); // Misses are remembered too, so a bad ID is not retried within the request
+        }
+        return user;
+    }
+
+    // Drop a user from both layers after it has been saved
+    public void evict(String userId) {
+        sharedCache.remove(userId);
+        Map<String, Optional<User>> requestUsers = requestUsers();
+        if (requestUsers != null) {
+            requestUsers.remove(userId);
+        }
+    }
+
+    private Optional<User> loadShared(String userId) {
+        if (sharedCacheTtlMillis > 0) {
+            CachedUser cached = sharedCache.get(userId);
+            if (cached != null && System.currentTimeMillis() - cached.loadedAt <= sharedCacheTtlMillis) {
+                cacheHits.increment();
+                return Optional.of(cached.user);
+            }
+        }
+        databaseReads.increment();
+        Optional<User> user = userRepository.findById(userId);
+        if (sharedCacheTtlMillis > 0 && user.isPresent()) {
+            sharedCache.put(userId, new CachedUser(user.get(), System.currentTimeMillis()));
+        }
+        return user;
+    }
+
+    // Identity map for the current request, or null outside a request (scheduled jobs, startup)
+    @SuppressWarnings("unchecked")
+    private static Map<String, Optional<User>> requestUsers() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        synchronized (attributes) { // FanOut branches share the caller's request
+            Object users = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (users == null) {
+                users = new ConcurrentHashMap<String, Optional<User>>();
+                attributes.setAttribute(REQUEST_ATTRIBUTE, users, RequestAttributes.SCOPE_REQUEST);
+            }
+            return (Map<String, Optional<User>>) users;
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("users.lookup")
+                .description("User lookups by the layer that answered them")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private static final class CachedUser {
+        private final User user;
+        private final long loadedAt;
+
+        private CachedUser(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.backend.service;
+
+import com.example.backend.model.WalletLedgerSummary;
+import com.example.backend.model.WalletTransaction;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Wallet ledger compaction.
+ * Single Responsibility: keeps the hot wallet_ledger down to the recent
+ * tail by rolling every (user, month) older than the horizon into one
+ * summary record and moving its entries to the cold archive.
+ *
+ * Each month is compacted in three repeatable steps: copy entries to the
+ * archive (duplicates ignored), recompute the summary from the archive,
+ * delete the archived entries from the ledger. Entries are streamed in
+ * pages and the summary is aggregated by the server, so a month is never
+ * held in memory. A run that stops part way is finished by the next one.
+ * Only one node runs the job at a time (JobLockService). Balances live on
+ * the wallet and are not touched.
+ */
+@Service
+public class WalletLedgerCompactor {
+
+    public static final String ARCHIVE_COLLECTION = "wallet_ledger_archive";
+    static final String JOB = "wallet-ledger-compaction";
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int PAGE_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final JobLockService jobLockService;
+    private final int horizonMonths;
+    private final int maxMonthsPerRun;
+    private final Duration lockLease;
+
+    public WalletLedgerCompactor(MongoTemplate mongoTemplate,
+                                 JobLockService jobLockService,
+                                 @Value("${app.wallet.compaction.horizon-months:6}") int horizonMonths,
+                                 @Value("${app.wallet.compaction.max-months-per-run:5000}") int maxMonthsPerRun,
+                                 @Value("${app.wallet.compaction.lock-lease-ms:21600000}") long lockLeaseMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.jobLockService = jobLockService;
+        this.horizonMonths = horizonMonths;
+        this.maxMonthsPerRun = maxMonthsPerRun;
+        this.lockLease = Duration.ofMillis(lockLeaseMillis);
+    }
+
+    @Scheduled(cron = "${app.wallet.compaction.cron:0 30 2 1 * *}")
+    public void compact() {
+        try {
+            if (!jobLockService.tryLock(JOB, lockLease)) {
+                return; // another node is compacting
+            }
+        } catch (Exception e) {
+            System.err.println("Wallet ledger compaction could not take its lock: " + e.getMessage());
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(ARCHIVE_COLLECTION).ensureIndex(
+                    new Index().on("userId", Sort.Direction.ASC).on("timestamp", Sort.Direction.DESC).named("user_timestamp_idx"));
+
+            YearMonth firstHotMonth = YearMonth.now(ZoneOffset.UTC).minusMonths(horizonMonths);
+            int compacted = 0;
+            for (Document month : monthsBefore(firstHotMonth)) {
+                Document key = month.get("_id", Document.class);
+                compactMonth(key.getString("userId"), YearMonth.parse(key.getString("month")));
+                compacted++;
+            }
+            if (compacted > 0) {
+                System.out.println("Wallet ledger compactor rolled up " + compacted + " user-months before " + firstHotMonth);
+            }
+        } catch (Exception e) {
+            System.err.println("Wallet ledger compaction failed: " + e.getMessage());
+        } finally {
+            jobLockService.unlock(JOB);
+        }
+    }
+
+    // Distinct (userId, month) pairs still in the hot ledger before the horizon
+    private List<Document> monthsBefore(YearMonth firstHotMonth) {
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("timestamp").lt(startOf(firstHotMonth))),
+                project("userId").and(DateOperators.dateOf("timestamp").toString("%Y-%m")).as("month"),
+                group("userId", "month"),
+                limit(maxMonthsPerRun))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return mongoTemplate.aggregate(aggregation, WalletTransaction.class, Document.class).getMappedResults();
+    }
+
+    void compactMonth(String userId, YearMonth month) {
+        Criteria inMonth = Criteria.where("userId").is(userId)
+                .and("timestamp").gte(startOf(month)).lt(startOf(month.plusMonths(1)));
+
+        // 1. Copy to the archive under the same ids, a page at a time, so a repeated copy is a no-op
+        Query hot = new Query(inMonth).cursorBatchSize(PAGE_SIZE);
+        try (Stream<WalletTransaction> entries = mongoTemplate.stream(hot, WalletTransaction.class)) {
+            Iterator<WalletTransaction> it = entries.iterator();
+            List<WalletTransaction> page = new ArrayList<>(PAGE_SIZE);
+            while (it.hasNext()) {
+                page.add(it.next());
+                if (page.size() == PAGE_SIZE || !it.hasNext()) {
+                    archive(page);
+                    page.clear();
+                }
+            }
+        }
+
+        // 2. Summary recomputed from everything archived for the month, so reruns overwrite rather than add
+        WalletLedgerSummary summary = summarize(userId, month, inMonth);
+        if (summary != null) {
+            mongoTemplate.save(summary);
+        }
+
+        // 3. Drop from the hot ledger only what is confirmed in the archive
+        Query hotIds = new Query(inMonth).cursorBatchSize(PAGE_SIZE);
+        hotIds.fields().include("_id");
+        try (Stream<WalletTransaction> entries = mongoTemplate.stream(hotIds, WalletTransaction.class)) {
+            Iterator<WalletTransaction> it = entries.iterator();
+            List<String> page = new ArrayList<>(PAGE_SIZE);
+            while (it.hasNext()) {
+                page.add(it.next().getId());
+                if (page.size() == PAGE_SIZE || !it.hasNext()) {
+                    removeArchived(page);
+                    page.clear();
+                }
+            }
+        }
+    }
+
+    private void archive(List<WalletTransaction> page) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WalletTransaction.class, ARCHIVE_COLLECTION)
+                    .insert(page)
+                    .execute();
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+    }
+
+    // An entry written into an old month after the copy (e.g. by the legacy migration) stays hot for the next run
+    private void removeArchived(List<String> ids) {
+        Query archived = new Query(Criteria.where("_id").in(ids));
+        archived.fields().include("_id");
+        List<String> safe = new ArrayList<>(ids.size());
+        mongoTemplate.find(archived, WalletTransaction.class, ARCHIVE_COLLECTION).forEach(tx -> safe.add(tx.getId()));
+        if (!safe.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(safe)), WalletTransaction.class);
+        }
+    }
+
+    // Totals summed by the server over the archived month; the closing balance is read from its last entry
+    private WalletLedgerSummary summarize(String userId, YearMonth month, Criteria inMonth) {
+        Aggregation aggregation = newAggregation(
+                match(inMonth),
+                group()
+                        .sum(ConditionalOperators.when(Criteria.where("amount").gt(0)).thenValueOf("amount").otherwise(0)).as("credited")
+                        .sum(ConditionalOperators.when(Criteria.where("amount").lt(0)).thenValueOf("amount").otherwise(0)).as("debited")
+                        .count().as("entries"));
+        Document totals = mongoTemplate.aggregate(aggregation, ARCHIVE_COLLECTION, Document.class).getUniqueMappedResult();
+        if (totals == null) {
+            return null;
+        }
+        int credited = totals.get("credited", Number.class).intValue();
+        int debited = -totals.get("debited", Number.class).intValue();
+
+        Query last = new Query(inMonth).with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"));
+        last.fields().include("balanceAfter");
+        WalletTransaction closing = mongoTemplate.findOne(last, WalletTransaction.class, ARCHIVE_COLLECTION);
+
+        return WalletLedgerSummary.builder()
+                .id(userId + ":" + month)
+                .userId(userId)
+                .month(month.toString())
+                .credited(credited)
+                .debited(debited)
+                .net(credited - debited)
+                .entryCount(totals.get("entries", Number.class).intValue())
+                .closingBalance(closing == null ? null : closing.getBalanceAfter())
+                .compactedAt(Instant.now())
+                .build();
+    }
+
+    private static Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.service;
+
+import com.example.backend.model.DigitalWallet;
+import com.example.backend.model.WalletTransaction;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves transactions still embedded in digital_wallets into the wallet ledger.
+ *
+ * Each embedded entry gets a deterministic ledger id (wallet id + array index),
+ * so a wallet that was only partly migrated is simply copied again; duplicate
+ * inserts are ignored. The embedded array is removed once its entries are in
+ * the ledger. The balance is not touched, it already includes these entries.
+ */
+@Component
+public class WalletLedgerMigration {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int BATCH_SIZE = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public WalletLedgerMigration(MongoTemplate mongoTemplate,
+                                 @Value("${app.wallet.migrate-ledger:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::migrate, "wallet-ledger-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void migrate() {
+        try {
+            Query legacy = new Query(Criteria.where("transactions").exists(true));
+            legacy.fields().include("userId", "transactions");
+            legacy.cursorBatchSize(BATCH_SIZE);
+            int migrated = 0;
+            // Streamed: each legacy wallet carries its whole history, so only one batch is held at a time
+            try (Stream<Document> wallets = mongoTemplate.stream(legacy, Document.class, mongoTemplate.getCollectionName(DigitalWallet.class))) {
+                Iterator<Document> it = wallets.iterator();
+                while (it.hasNext()) {
+                    migrateWallet(it.next());
+                    migrated++;
+                }
+            }
+            if (migrated > 0) {
+                System.out.println("Moved embedded transactions of " + migrated + " wallets into the ledger");
+            }
+        } catch (Exception e) {
+            System.err.println("Wallet ledger migration failed: " + e.getMessage());
+        }
+    }
+
+    private void migrateWallet(Document wallet) {
+        Object walletId = wallet.get("_id");
+        String userId = wallet.getString("userId");
+        List<?> embedded = wallet.getList("transactions", Object.class, List.of());
+
+        List<WalletTransaction> entries = new ArrayList<>(embedded.size());
+        for (int i = 0; i < embedded.size(); i++) {
+            if (!(embedded.get(i) instanceof Document tx)) {
+                continue;
+            }
+            Number amount = tx.get("amount", Number.class);
+            Date timestamp = tx.getDate("timestamp");
+            entries.add(new WalletTransaction(
+                    walletId + ":" + i,
+                    userId,
+                    amount == null ? null : amount.intValue(),
+                    tx.getString("description"),
+                    tx.getString("type"),
+                    null,
+                    timestamp == null ? Instant.EPOCH : timestamp.toInstant()));
+        }
+
+        if (!entries.isEmpty()) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WalletTransaction.class)
+                        .insert(entries)
+                        .execute();
+            } catch (BulkOperationException e) {
+                if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                    throw e;
+                }
+            }
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(walletId)),
+                new Update().unset("transactions"),
+                DigitalWallet.class);
+    }
+}
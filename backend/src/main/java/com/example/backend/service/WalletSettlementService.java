@@ -0,0 +1,261 @@
+package com.example.backend.service;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.model.DigitalWallet;
+import com.example.backend.model.WalletSettlementBatch;
+import com.example.backend.model.WalletTransaction;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * End-of-day wallet settlement.
+ * Single Responsibility: credits the points of completed recyclable pickups
+ * in bulk instead of one wallet write per pickup.
+ *
+ * A run claims pending waste records under a batch id (CLAIMING, then
+ * CLAIMED once every record is tagged) and, in one Mongo transaction, sums
+ * their points per user, applies every $inc and ledger entry and moves the
+ * batch checkpoint to APPLIED. Then it marks the records settled.
+ * A crash at any point resumes from the checkpoint: a batch is credited at
+ * most once because the credit and the checkpoint commit together, and
+ * another node only takes over a batch that is still CLAIMING once its claim
+ * has timed out, so it never credits a batch whose records are still being tagged.
+ */
+@Service
+public class WalletSettlementService {
+
+    public static final String PENDING = "Pending";
+    public static final String CLAIMED = "Claimed";
+    public static final String SETTLED = "Settled";
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DigitalWalletService digitalWalletService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long claimTimeoutMillis;
+
+    public WalletSettlementService(MongoTemplate mongoTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   DigitalWalletService digitalWalletService,
+                                   @Value("${app.wallet.settlement.batch-size:1000}") int batchSize,
+                                   @Value("${app.wallet.settlement.max-batches:50}") int maxBatchesPerRun,
+                                   @Value("${app.wallet.settlement.claim-timeout-ms:600000}") long claimTimeoutMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.digitalWalletService = digitalWalletService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.claimTimeoutMillis = claimTimeoutMillis;
+    }
+
+    /** Queue a completed pickup for the next settlement; false if it was already queued */
+    public boolean enqueue(Waste waste, int points) {
+        Query notQueued = new Query(Criteria.where("_id").is(waste.getId()).and("walletSettlement").exists(false));
+        Update queue = new Update().set("walletSettlement", PENDING).set("settlementPoints", points);
+        boolean queued = mongoTemplate.updateFirst(notQueued, queue, Waste.class).getModifiedCount() == 1;
+        if (queued) {
+            waste.setWalletSettlement(PENDING);
+            waste.setSettlementPoints(points);
+        }
+        return queued;
+    }
+
+    @Scheduled(cron = "${app.wallet.settlement.cron:0 0 23 * * *}")
+    public void settle() {
+        try {
+            for (WalletSettlementBatch unfinished : findUnfinishedBatches()) {
+                String state = unfinished.getState();
+                if (WalletSettlementBatch.CLAIMING.equals(state)) {
+                    if (!takeOverClaim(unfinished.getId())) {
+                        continue; // still being tagged by its node, or taken over by another
+                    }
+                    state = WalletSettlementBatch.CLAIMED;
+                }
+                finish(unfinished.getId(), state); // a previous run stopped part way
+            }
+            int settled = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                String batchId = claimBatch();
+                if (batchId == null) break; // nothing pending
+                settled += finish(batchId, WalletSettlementBatch.CLAIMED);
+            }
+            if (settled > 0) {
+                System.out.println("Wallet settlement credited " + settled + " recyclable pickups");
+            }
+        } catch (Exception e) {
+            System.err.println("Wallet settlement failed: " + e.getMessage());
+        }
+    }
+
+    private List<WalletSettlementBatch> findUnfinishedBatches() {
+        Query unfinished = new Query(Criteria.where("state").ne(WalletSettlementBatch.DONE))
+                .with(Sort.by("createdAt"));
+        return mongoTemplate.find(unfinished, WalletSettlementBatch.class);
+    }
+
+    /** Tag up to batchSize pending records with a new batch id; null when nothing is pending or the claim was taken over */
+    String claimBatch() {
+        Query pending = new Query(Criteria.where("walletSettlement").is(PENDING)).limit(batchSize);
+        pending.fields().include("_id");
+        List<ObjectId> ids = new ArrayList<>();
+        for (Waste waste : mongoTemplate.find(pending, Waste.class)) {
+            ids.add(waste.getId());
+        }
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        // Checkpoint first, so records claimed by a run that then crashes are found again;
+        // CLAIMING keeps other nodes from crediting the batch before its records are tagged
+        String batchId = new ObjectId().toHexString();
+        Instant now = Instant.now();
+        mongoTemplate.insert(WalletSettlementBatch.builder()
+                .id(batchId)
+                .state(WalletSettlementBatch.CLAIMING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        // Guarded on Pending, so a record claimed concurrently by another node is not taken twice
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(ids).and("walletSettlement").is(PENDING)),
+                new Update().set("walletSettlement", CLAIMED).set("settlementBatchId", batchId),
+                Waste.class);
+
+        boolean claimed = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(batchId).and("state").is(WalletSettlementBatch.CLAIMING)),
+                new Update().set("state", WalletSettlementBatch.CLAIMED).set("updatedAt", Instant.now()),
+                WalletSettlementBatch.class).getModifiedCount() == 1;
+        return claimed ? batchId : null; // taken over after a very slow claim; that node finishes it
+    }
+
+    // Move a batch left in CLAIMING by a node that stopped part way to CLAIMED, once its claim has timed out
+    private boolean takeOverClaim(String batchId) {
+        Instant cutoff = Instant.now().minusMillis(claimTimeoutMillis);
+        return mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(batchId)
+                        .and("state").is(WalletSettlementBatch.CLAIMING)
+                        .and("updatedAt").lt(cutoff)),
+                new Update().set("state", WalletSettlementBatch.CLAIMED).set("updatedAt", Instant.now()),
+                WalletSettlementBatch.class).getModifiedCount() == 1;
+    }
+
+    /** Drive a batch from its checkpointed state to DONE; returns the number of records settled */
+    private int finish(String batchId, String state) {
+        List<UserTotal> totals;
+        if (WalletSettlementBatch.CLAIMED.equals(state)) {
+            // Totals are read inside the transaction, so they are the ones the checkpoint commits with
+            totals = transactionTemplate.execute(status -> apply(batchId));
+        } else {
+            totals = totalsFor(batchId);
+        }
+        int settled = markSettled(batchId);
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(batchId)),
+                new Update().set("state", WalletSettlementBatch.DONE).set("updatedAt", Instant.now()),
+                WalletSettlementBatch.class);
+        totals.forEach(total -> digitalWalletService.forget(total.userId)); // cached balances are now stale
+        return settled;
+    }
+
+    // Points per user for one batch, summed by the server
+    private List<UserTotal> totalsFor(String batchId) {
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("settlementBatchId").is(batchId).and("walletSettlement").in(CLAIMED, SETTLED)),
+                group("userId").sum("settlementPoints").as("points").count().as("pickups"));
+        List<UserTotal> totals = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Waste.class, Document.class)) {
+            Number points = row.get("points", Number.class);
+            Number pickups = row.get("pickups", Number.class);
+            if (row.getString("_id") != null && points != null && points.longValue() > 0) {
+                totals.add(new UserTotal(row.getString("_id"), points.intValue(), pickups.intValue()));
+            }
+        }
+        return totals;
+    }
+
+    // Runs inside the transaction: totals, checkpoint, balances and ledger commit or roll back together
+    private List<UserTotal> apply(String batchId) {
+        List<UserTotal> totals = totalsFor(batchId);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        long totalPoints = 0;
+        int pickups = 0;
+        for (UserTotal total : totals) {
+            totalPoints += total.points;
+            pickups += total.pickups;
+        }
+
+        boolean advanced = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(batchId).and("state").is(WalletSettlementBatch.CLAIMED)),
+                new Update().set("state", WalletSettlementBatch.APPLIED)
+                        .set("wasteCount", pickups)
+                        .set("userCount", totals.size())
+                        .set("totalPoints", totalPoints)
+                        .set("updatedAt", now),
+                WalletSettlementBatch.class).getModifiedCount() == 1;
+        if (!advanced || totals.isEmpty()) {
+            return totals; // already applied by another node, or nothing to credit
+        }
+
+        BulkOperations wallets = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DigitalWallet.class);
+        BulkOperations ledger = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WalletTransaction.class);
+        String day = LocalDate.now().toString();
+        for (UserTotal total : totals) {
+            wallets.upsert(new Query(Criteria.where("userId").is(total.userId)),
+                    new Update().inc("points", total.points)
+                            .inc("revision", 1L)
+                            .set("updatedAt", now)
+                            .setOnInsert("createdAt", now));
+            ledger.insert(new WalletTransaction(
+                    "settlement:" + batchId + ":" + total.userId, // deterministic, a replayed batch cannot add a second entry
+                    total.userId,
+                    total.points,
+                    "Points earned from " + total.pickups + " recyclable waste collection(s) - settlement " + day,
+                    WalletTransaction.CREDIT,
+                    null,
+                    now));
+        }
+        wallets.execute();
+        ledger.execute();
+        return totals;
+    }
+
+    private int markSettled(String batchId) {
+        return (int) mongoTemplate.updateMulti(
+                new Query(Criteria.where("settlementBatchId").is(batchId).and("walletSettlement").is(CLAIMED)),
+                new Update().set("walletSettlement", SETTLED).set("settledAt", LocalDateTime.now()),
+                Waste.class).getModifiedCount();
+    }
+
+    private static final class UserTotal {
+        private final String userId;
+        private final int points;
+        private final int pickups;
+
+        private UserTotal(String userId, int points, int pickups) {
+            this.userId = userId;
+            this.points = points;
+            this.pickups = pickups;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.TimelineDTOs.TimelineEntry;
+import com.example.backend.model.WalletTransaction;
+import com.example.backend.util.TimelineCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+//Digital wallet transactions of a user, read from the wallet ledger ordered by timestamp.
+@Component
+public class WalletTimelineSource implements TimelineSource {
+
+    private final MongoTemplate mongoTemplate;
+
+    public WalletTimelineSource(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public String getKey() {
+        return "t";
+    }
+
+    @Override
+    public Stream<TimelineEntry> stream(String userId, TimelineCursor.Position after, int limit, int batchSize) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (after != null) {
+            criteria.orOperator(
+                    Criteria.where("timestamp").lt(after.getTimestamp()),
+                    Criteria.where("timestamp").is(after.getTimestamp()).and("_id").lt(after.getId()));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                .limit(limit)
+                .cursorBatchSize(batchSize);
+        query.fields().include("amount", "description", "type", "timestamp");
+
+        return mongoTemplate.stream(query, WalletTransaction.class).map(this::toEntry);
+    }
+
+    private TimelineEntry toEntry(WalletTransaction tx) {
+        return new TimelineEntry(
+                "WALLET",
+                tx.getId(),
+                tx.getTimestamp(),
+                tx.getDescription(),
+                tx.getType(),
+                tx.getAmount() == null ? null : tx.getAmount().doubleValue());
+    }
+}
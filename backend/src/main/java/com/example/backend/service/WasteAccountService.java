@@ -3,9 +3,12 @@ package com.example.backend.service;
 import com.example.backend.model.WasteAccount;
 import com.example.backend.model.User;
 import com.example.backend.repository.WasteAccountRepository;
-import com.example.backend.repository.UserRepository;
 import com.example.backend.exception.CustomException;
+import com.example.backend.util.AccountIdCodec;
+import com.example.backend.util.LruCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import java.util.List;
 
@@ -20,7 +23,7 @@ public class WasteAccountService {
     private WasteAccountRepository wasteAccountRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private UserLookupService userLookupService;
     
     @Autowired
     private QRCodeGenerator qrCodeGenerator;
@@ -31,6 +34,12 @@ public class WasteAccountService {
     @Autowired
     private CapacityRandomizer capacityRandomizer;
     
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    // Rendered account QR codes, keyed by account ID
+    private final LruCache<String, byte[]> qrCodes = new LruCache<>(500);
+    
     public WasteAccount createWasteAccount(String userId, WasteAccount.Location location) {
         // Check if user already has a waste account
         if (wasteAccountRepository.existsByUserId(userId)) {
@@ -40,13 +49,9 @@ public class WasteAccountService {
         // Generate unique account ID
         String accountId = accountIdGenerator.generateAccountId();
         
-        // Create waste account
+        // Create waste account (its QR code is rendered when first requested)
         WasteAccount wasteAccount = new WasteAccount(accountId, userId, location);
         
-        // Generate QR code for the account ID
-        String qrCode = qrCodeGenerator.generateQRCode(accountId);
-        wasteAccount.setQrCode(qrCode);
-        
         return wasteAccountRepository.save(wasteAccount);
     }
     
@@ -66,10 +71,17 @@ public class WasteAccountService {
      * @return Map containing waste account details for collector
      */
     public java.util.Map<String, Object> getWasteAccountDetailsForScanning(String accountId) {
+        if (accountId != null && accountId.length() == AccountIdCodec.LENGTH) {
+            long sequence = AccountIdCodec.decode(accountId);
+            if (sequence < 0) {
+                throw new CustomException("Invalid account ID"); // Check symbol mismatch: a mistyped or misread ID, no need to query
+            }
+            accountId = AccountIdCodec.encode(sequence); // Typed IDs may be lower case or use O/I/L for 0/1
+        }
         WasteAccount account = getWasteAccountByAccountId(accountId);
         
         // Get user details
-        User user = userRepository.findById(account.getUserId())
+        User user = userLookupService.findById(account.getUserId())
                 .orElseThrow(() -> new CustomException("User not found for waste account"));
         
         java.util.Map<String, Object> response = new java.util.HashMap<>();
@@ -95,15 +107,36 @@ public class WasteAccountService {
     }
     
     public java.util.List<WasteAccount> getAllWasteAccounts() {
-        return wasteAccountRepository.findAll();
+        Query query = new Query();
+        query.fields().exclude("qr_code"); // Older accounts still store a QR image; the list never shows it
+        return mongoTemplate.find(query, WasteAccount.class);
+    }
+    
+    /**
+     * Get the QR code of a waste account as PNG bytes
+     * The code only encodes the account ID, so it is rendered on first request and kept in memory
+     * @param accountId The account ID
+     * @return PNG image bytes
+     */
+    public byte[] getQrCodePng(String accountId) {
+        byte[] cached = qrCodes.get(accountId);
+        if (cached != null) {
+            return cached;
+        }
+        if (!wasteAccountRepository.existsByAccountId(accountId)) {
+            throw new CustomException("Waste account not found");
+        }
+        byte[] png = qrCodeGenerator.generateQRCodePng(accountId);
+        qrCodes.put(accountId, png);
+        return png;
     }
     
     /**
      * Auto-randomizes capacity for all waste accounts based on a percentage parameter
      * @param percentage The percentage of accounts to randomize (0.0 to 1.0)
-     * @return List of updated waste accounts
+     * @return Number of waste accounts whose capacity changed
      */
-    public List<WasteAccount> autoRandomizeCapacity(double percentage) {
+    public int autoRandomizeCapacity(double percentage) {
         return capacityRandomizer.randomizeCapacity(percentage);
     }
     
@@ -0,0 +1,64 @@
+package com.example.backend.service;
+
+import com.example.backend.Waste.Waste;
+import com.example.backend.dto.TimelineDTOs.TimelineEntry;
+import com.example.backend.util.TimelineCursor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.stream.Stream;
+
+//Recyclable waste submissions of a user, ordered by submission date.
+@Component
+public class WasteTimelineSource implements TimelineSource {
+
+    private final MongoTemplate mongoTemplate;
+
+    public WasteTimelineSource(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public String getKey() {
+        return "w";
+    }
+
+    @Override
+    public boolean isValidId(String id) {
+        return ObjectId.isValid(id);
+    }
+
+    @Override
+    public Stream<TimelineEntry> stream(String userId, TimelineCursor.Position after, int limit, int batchSize) {
+        Criteria criteria = Criteria.where("userId").is(userId).and("submissionDate").ne(null); // older records without a date cannot be placed on the timeline
+        if (after != null) {
+            Date timestamp = Date.from(after.getTimestamp());
+            criteria.orOperator(
+                    Criteria.where("submissionDate").lt(timestamp),
+                    Criteria.where("submissionDate").is(timestamp).and("_id").lt(new ObjectId(after.getId())));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "submissionDate", "_id"))
+                .limit(limit)
+                .cursorBatchSize(batchSize);
+        query.fields().include("submissionDate", "status", "totalWeightKg", "totalPaybackAmount");
+
+        return mongoTemplate.stream(query, Waste.class).map(this::toEntry);
+    }
+
+    private TimelineEntry toEntry(Waste waste) {
+        return new TimelineEntry(
+                "WASTE",
+                waste.getId().toHexString(),
+                waste.getSubmissionDate().atZone(ZoneId.systemDefault()).toInstant(),
+                "Recyclable waste submission (" + waste.getTotalWeightKg() + " kg)",
+                waste.getStatus(),
+                waste.getTotalPaybackAmount());
+    }
+}
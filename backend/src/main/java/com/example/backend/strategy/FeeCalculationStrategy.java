@@ -1,6 +1,7 @@
 package com.example.backend.strategy;
 
 import com.example.backend.dto.SpecialCollectionDTOs.FeeRequest;
+import com.example.backend.model.valueobjects.TariffSnapshot;
 
 //Interface for fee calculation operations.
 public interface FeeCalculationStrategy {
@@ -13,6 +14,15 @@ public interface FeeCalculationStrategy {
      */
     double calculateFee(FeeRequest request);
     
+    /**
+     * Calculates the fee against a specific tariff version.
+     * 
+     * @param request The fee calculation request
+     * @param tariff The tariff snapshot to price with
+     * @return The calculated fee in LKR
+     */
+    double calculateFee(FeeRequest request, TariffSnapshot tariff);
+    
     /**
      * Gets the rate per kg for a specific waste category.
      * 
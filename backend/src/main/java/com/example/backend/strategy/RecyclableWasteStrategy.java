@@ -1,6 +1,7 @@
 package com.example.backend.strategy;
 
 import com.example.backend.Waste.Waste;
+import com.example.backend.model.valueobjects.TariffSnapshot;
 import java.util.List;
 
 /**
@@ -29,6 +30,16 @@ public interface RecyclableWasteStrategy {
      */
     double calculatePaybackAmount(double weight, String category);
 
+    /**
+     * Calculate payback amount against a specific tariff version
+     * 
+     * @param weight   Weight in kg
+     * @param category Waste category
+     * @param tariff   Tariff snapshot to price with
+     * @return Calculated payback amount
+     */
+    double calculatePaybackAmount(double weight, String category, TariffSnapshot tariff);
+
     /**
      * Validate recyclable waste submission
      * 
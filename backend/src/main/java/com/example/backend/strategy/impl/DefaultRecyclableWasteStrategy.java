@@ -1,11 +1,15 @@
 package com.example.backend.strategy.impl;
 
 import com.example.backend.Waste.Waste;
+import com.example.backend.model.enums.RecyclableCategory;
+import com.example.backend.model.valueobjects.TariffSnapshot;
+import com.example.backend.service.TariffService;
 import com.example.backend.strategy.RecyclableWasteStrategy;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Default implementation of RecyclableWasteStrategy
@@ -24,29 +28,35 @@ import java.util.List;
 public class DefaultRecyclableWasteStrategy implements RecyclableWasteStrategy {
 
     // SOLID PRINCIPLE: Single Responsibility Principle (SRP)
-    // Centralized configuration - all rates are managed in one place
-    // Category rates per kg in LKR - centralized configuration
-    private static final double E_WASTE_RATE = 15.00;
-    private static final double PLASTIC_RATE = 8.00;
-    private static final double GLASS_RATE = 6.00;
-    private static final double ALUMINUM_RATE = 12.00;
-    private static final double PAPER_CARDBOARD_RATE = 4.00;
-    private static final double DEFAULT_RATE = 5.00;
+    // Rates per kg come from the versioned tariff held by TariffService
+    private final TariffService tariffService;
 
     // SOLID PRINCIPLE: Open/Closed Principle (OCP)
-    // Easy to extend by adding new categories to this list
-    private static final List<String> SUPPORTED_CATEGORIES = Arrays.asList(
-            "E-waste", "Plastic", "Glass", "Aluminum", "Paper/Cardboard");
+    // New categories are added to RecyclableCategory and priced in the tariff
+    private static final List<String> SUPPORTED_CATEGORIES = Arrays.stream(RecyclableCategory.values())
+            .map(RecyclableCategory::getDisplayName)
+            .collect(Collectors.toUnmodifiableList());
+
+    // SOLID PRINCIPLE: Dependency Inversion Principle (DIP)
+    // Constructor injection ensures dependencies are provided by Spring container
+    public DefaultRecyclableWasteStrategy(TariffService tariffService) {
+        this.tariffService = tariffService;
+    }
 
     @Override
     public double calculatePaybackAmount(double weight, String category) {
+        return calculatePaybackAmount(weight, category, tariffService.current());
+    }
+
+    @Override
+    public double calculatePaybackAmount(double weight, String category, TariffSnapshot tariff) {
         // SOLID PRINCIPLE: Single Responsibility Principle (SRP)
         // This method has a single responsibility - calculating payback amount
         if (weight <= 0) {
             return 0.0;
         }
 
-        double ratePerKg = getRatePerKg(category);
+        double ratePerKg = tariff.recyclableRate(category);
         return weight * ratePerKg;
     }
 
@@ -106,27 +116,7 @@ public class DefaultRecyclableWasteStrategy implements RecyclableWasteStrategy {
     public double getRatePerKg(String category) {
         // SOLID PRINCIPLE: Single Responsibility Principle (SRP)
         // This method has a single responsibility - returning rate per kg for a
-        // category
-
-        if (category == null) {
-            return DEFAULT_RATE;
-        }
-
-        // SOLID PRINCIPLE: Open/Closed Principle (OCP)
-        // Easy to extend by adding new cases without modifying existing logic
-        switch (category.toLowerCase()) {
-            case "e-waste":
-                return E_WASTE_RATE;
-            case "plastic":
-                return PLASTIC_RATE;
-            case "glass":
-                return GLASS_RATE;
-            case "aluminum":
-                return ALUMINUM_RATE;
-            case "paper/cardboard":
-                return PAPER_CARDBOARD_RATE;
-            default:
-                return DEFAULT_RATE;
-        }
+        // category from the current tariff (unknown categories get the default rate)
+        return tariffService.current().recyclableRate(category);
     }
 }
@@ -1,6 +1,6 @@
 package com.example.backend.strategy.impl;
 
-import com.example.backend.repository.SpecialCollectionRepository;
+import com.example.backend.service.SlotCapacityService;
 import com.example.backend.strategy.SchedulingStrategy;
 import org.springframework.stereotype.Component;
 
@@ -15,13 +15,13 @@ import java.util.List;
 @Component
 public class DefaultSchedulingStrategy implements SchedulingStrategy {
     
-    private final SpecialCollectionRepository specialCollectionRepository;
+    private final SlotCapacityService slotCapacityService;
     
-    private static final int MAX_PER_SLOT = 10;
+    private static final int MAX_PER_SLOT = SlotCapacityService.MAX_PER_SLOT;
     private static final List<String> ALL_SLOTS = Arrays.asList("Morning", "Afternoon");
 
-    public DefaultSchedulingStrategy(SpecialCollectionRepository specialCollectionRepository) {
-        this.specialCollectionRepository = specialCollectionRepository;
+    public DefaultSchedulingStrategy(SlotCapacityService slotCapacityService) {
+        this.slotCapacityService = slotCapacityService;
     }
 
     @Override
@@ -44,12 +44,12 @@ public class DefaultSchedulingStrategy implements SchedulingStrategy {
         String morning = weekend ? "10.00-11.30" : "9.30-12.00";
         String afternoon = weekend ? "4.00-6.00" : "3.00-6.00";
 
-        int morningBooked = specialCollectionRepository.findByDateAndTimeSlot(date, "Morning").size();
+        int morningBooked = slotCapacityService.booked(date, "Morning");
         if (morningBooked < MAX_PER_SLOT) {
             available.add("Morning " + morning);
         }
         
-        int afternoonBooked = specialCollectionRepository.findByDateAndTimeSlot(date, "Afternoon").size();
+        int afternoonBooked = slotCapacityService.booked(date, "Afternoon");
         if (afternoonBooked < MAX_PER_SLOT) {
             available.add("Afternoon " + afternoon);
         }
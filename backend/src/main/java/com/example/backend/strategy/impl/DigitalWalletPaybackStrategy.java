@@ -3,7 +3,9 @@ package com.example.backend.strategy.impl;
 import com.example.backend.Waste.Waste;
 import com.example.backend.strategy.PaybackStrategy;
 import com.example.backend.service.DigitalWalletService;
+import com.example.backend.service.WalletSettlementService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -28,6 +30,13 @@ public class DigitalWalletPaybackStrategy implements PaybackStrategy {
     @Autowired
     private DigitalWalletService digitalWalletService;
 
+    @Autowired
+    private WalletSettlementService walletSettlementService;
+
+    // When true, points are credited by the end-of-day settlement job instead of immediately
+    @Value("${app.wallet.settlement.deferred:true}")
+    private boolean deferToSettlement;
+
     @Override
     public PaybackResult processPayback(Waste waste) {
         // SOLID PRINCIPLE: Single Responsibility Principle (SRP)
@@ -46,7 +55,16 @@ public class DigitalWalletPaybackStrategy implements PaybackStrategy {
 
             int pointsToAdd = (int) Math.round(paybackAmount);
 
-            if (pointsToAdd > 0) {
+            if (pointsToAdd > 0 && deferToSettlement) {
+                // SOLID PRINCIPLE: Single Responsibility Principle (SRP)
+                // Crediting is left to the settlement job, which applies all wallets in one bulk write
+                if (!walletSettlementService.enqueue(waste, pointsToAdd)) {
+                    return PaybackResult.error("Points for this waste are already queued for settlement");
+                }
+                return PaybackResult.success(
+                        "Scheduled " + pointsToAdd + " points for end-of-day wallet settlement",
+                        pointsToAdd);
+            } else if (pointsToAdd > 0) {
                 String description = waste.getActualPaybackAmount() != null
                         ? "Points earned from recyclable waste collection (actual weight) - " + waste.getId().toString()
                         : "Points earned from recyclable waste collection (estimated weight) - "
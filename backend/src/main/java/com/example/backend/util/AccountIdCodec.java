@@ -0,0 +1,90 @@
+package com.example.backend.util;
+
+//Encodes account sequence numbers as short, typo-resistant IDs: "WA", eight Crockford base32 symbols and a check symbol.
+//Numbers are first spread over the 40-bit space by a fixed bijection, so neighbouring accounts do not get neighbouring IDs;
+//that is cosmetic, not access control. The check symbol is Crockford's mod 37, which catches any single mistyped symbol.
+//Legacy IDs ("WA" and twelve hex digits) are longer, so the two formats can never collide.
+public final class AccountIdCodec {
+
+    public static final String PREFIX = "WA";
+    public static final int SYMBOLS = 8;
+    public static final long MAX_VALUE = (1L << (5 * SYMBOLS)) - 1; // 40 bits, about 1.1 trillion IDs
+    public static final int LENGTH = PREFIX.length() + SYMBOLS + 1;
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final String CHECK_ALPHABET = ALPHABET + "*~$=U";
+    private static final long MIX_MULTIPLIER = 0x9E3779B97L; // odd, so multiplication modulo 2^40 is a bijection
+    private static final long MIX_XOR = 0x5A5A5A5A5AL;
+    private static final long MIX_INVERSE = inverse(MIX_MULTIPLIER);
+
+    private AccountIdCodec() {
+    }
+
+    public static String encode(long sequence) {
+        if (sequence < 0 || sequence > MAX_VALUE) {
+            throw new IllegalArgumentException("Sequence out of range: " + sequence);
+        }
+        long value = mix(sequence);
+        char[] id = new char[LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), id, 0);
+        long rest = value;
+        for (int i = LENGTH - 2; i >= PREFIX.length(); i--) {
+            id[i] = ALPHABET.charAt((int) (rest & 31));
+            rest >>>= 5;
+        }
+        id[LENGTH - 1] = CHECK_ALPHABET.charAt((int) (value % 37));
+        return new String(id);
+    }
+
+    //True when the ID has the current format and its check symbol matches; case and Crockford's look-alikes (O, I, L) are accepted.
+    public static boolean isValid(String accountId) {
+        return decode(accountId) >= 0;
+    }
+
+    //The sequence number behind an ID, or -1 when it is not a valid current-format ID.
+    public static long decode(String accountId) {
+        if (accountId == null || accountId.length() != LENGTH || !accountId.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < LENGTH - 1; i++) {
+            int digit = symbolValue(accountId.charAt(i));
+            if (digit < 0 || digit >= 32) {
+                return -1;
+            }
+            value = (value << 5) | digit;
+        }
+        int check = symbolValue(accountId.charAt(LENGTH - 1));
+        if (check < 0 || check != value % 37) {
+            return -1;
+        }
+        return unmix(value);
+    }
+
+    private static int symbolValue(char symbol) {
+        char c = Character.toUpperCase(symbol);
+        if (c == 'O') {
+            c = '0';
+        } else if (c == 'I' || c == 'L') {
+            c = '1';
+        }
+        return CHECK_ALPHABET.indexOf(c);
+    }
+
+    private static long mix(long sequence) {
+        return ((sequence * MIX_MULTIPLIER) & MAX_VALUE) ^ MIX_XOR;
+    }
+
+    private static long unmix(long value) {
+        return ((value ^ MIX_XOR) * MIX_INVERSE) & MAX_VALUE;
+    }
+
+    //Multiplicative inverse modulo 2^40 by Newton's iteration; each step doubles the number of correct low bits.
+    private static long inverse(long odd) {
+        long x = odd; // correct to 3 bits for any odd number
+        for (int i = 0; i < 5; i++) {
+            x *= 2 - odd * x;
+        }
+        return x & MAX_VALUE;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+//Writes RFC 4180 rows straight to a Writer, one field at a time, so an export never holds more than the writer's buffer.
+//Text that a spreadsheet would run as a formula (leading =, +, -, @) is prefixed with a quote; numbers are written as they are.
+public final class CsvWriter {
+
+    private final Writer out;
+    private boolean rowStarted;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public CsvWriter row(String... fields) throws IOException {
+        for (String field : fields) {
+            text(field);
+        }
+        return endRow();
+    }
+
+    public CsvWriter text(String value) throws IOException {
+        separate();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@';
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return this;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"'); // quotes are escaped by doubling them
+            }
+            out.write(c);
+        }
+        out.write('"');
+        return this;
+    }
+
+    public CsvWriter number(double value) throws IOException {
+        separate();
+        if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+            out.write(Double.toString(value));
+        }
+        return this;
+    }
+
+    public CsvWriter number(Number value) throws IOException {
+        if (value == null) {
+            return text(null);
+        }
+        return value instanceof Double || value instanceof Float ? number(value.doubleValue()) : value(value);
+    }
+
+    //Writes an object's toString() unquoted; for values that cannot contain separators, such as dates.
+    public CsvWriter value(Object value) throws IOException {
+        separate();
+        if (value != null) {
+            out.write(value.toString());
+        }
+        return this;
+    }
+
+    public CsvWriter endRow() throws IOException {
+        out.write("\r\n");
+        rowStarted = false;
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (rowStarted) {
+            out.write(',');
+        }
+        rowStarted = true;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.backend.util;
+
+import com.example.backend.exception.ServiceBusyException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+//Runs independent reads of one request in parallel and bounds each with its own deadline.
+//Open it in try-with-resources: fork the branches, then join them in the order their errors should be reported.
+//A branch that fails or misses its deadline cancels the others when it is joined, and close() cancels whatever is still running,
+//so no branch outlives the scope that started it. A saturated pool runs the branch on the caller instead of failing.
+public final class FanOut implements AutoCloseable {
+
+    private static final int RETRY_AFTER_SECONDS = 2;
+
+    private final Executor executor;
+    private final UnaryOperator<Runnable> decorator;
+    private final long defaultTimeoutMillis;
+    private final List<Branch<?>> branches = new ArrayList<>();
+
+    //The decorator wraps each branch before it is handed to the executor, e.g. to carry the caller's request context.
+    public FanOut(Executor executor, UnaryOperator<Runnable> decorator, long defaultTimeoutMillis) {
+        this.executor = executor;
+        this.decorator = decorator;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    public <T> Branch<T> fork(String name, Callable<T> task) {
+        return fork(name, task, defaultTimeoutMillis);
+    }
+
+    public <T> Branch<T> fork(String name, Callable<T> task, long timeoutMillis) {
+        Branch<T> branch = new Branch<>(name, task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        branches.add(branch);
+        try {
+            executor.execute(decorator.apply(branch.task));
+        } catch (RejectedExecutionException e) {
+            branch.task.run(); // no worker free: degrade to a serial read rather than refusing the request
+        }
+        return branch;
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Branch<?> branch : branches) {
+            branch.task.cancel(true);
+        }
+    }
+
+    public final class Branch<T> {
+        private final String name;
+        private final FutureTask<T> task;
+        private final long deadline; // System.nanoTime()
+
+        private Branch(String name, Callable<T> work, long deadline) {
+            this.name = name;
+            this.task = new FutureTask<>(work);
+            this.deadline = deadline;
+        }
+
+        //Waits for the branch until its deadline; its exception is rethrown as is, unchecked ones at least.
+        public T join() {
+            try {
+                return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new ServiceBusyException("Reading " + name + " is taking too long, please try again shortly", RETRY_AFTER_SECONDS);
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new ServiceBusyException("Reading " + name + " was interrupted, please try again", RETRY_AFTER_SECONDS);
+            } catch (CancellationException e) {
+                throw new ServiceBusyException("Reading " + name + " was cancelled, please try again", RETRY_AFTER_SECONDS);
+            } catch (ExecutionException e) {
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.util;
+
+//Packs a fill-level reading into one int: the second of the UTC day in the high bits, the level in hundredths of a percent in the low 14 bits.
+//A day of readings is then a plain int array in its bucket document, a fraction of the size of one sub-document per reading.
+public final class FillLevelReadings {
+
+    public static final int MAX_LEVEL = 10_000; // 100.00%
+    private static final int LEVEL_BITS = 14;
+    private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private FillLevelReadings() {
+    }
+
+    //Converts a percentage (0 to 100) to hundredths, clamped to the valid range.
+    public static int toHundredths(double percent) {
+        long hundredths = Math.round(percent * 100.0);
+        return (int) Math.max(0, Math.min(MAX_LEVEL, hundredths));
+    }
+
+    public static int pack(int secondOfDay, int levelHundredths) {
+        if (secondOfDay < 0 || secondOfDay >= SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("Second of day out of range: " + secondOfDay);
+        }
+        if (levelHundredths < 0 || levelHundredths > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level out of range: " + levelHundredths);
+        }
+        return (secondOfDay << LEVEL_BITS) | levelHundredths;
+    }
+
+    public static int secondOfDay(int packed) {
+        return packed >>> LEVEL_BITS;
+    }
+
+    public static int level(int packed) {
+        return packed & LEVEL_MASK;
+    }
+}
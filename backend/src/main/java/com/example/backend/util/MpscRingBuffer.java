@@ -0,0 +1,96 @@
+package com.example.backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+//Bounded lock-free queue for many producers and one consumer.
+//Producers claim a slot with a CAS on the tail and publish it through the slot's sequence number; a full ring refuses the element instead of blocking, so callers can push back.
+//Only one thread at a time may call poll/drain.
+public final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences; // sequences[i] == position: free for that producer; position + 1: published for the consumer
+    private final AtomicLong tail = new AtomicLong(); // next position a producer claims
+    private volatile long head; // next position the consumer reads; written by the consumer only
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = 1;
+        while (size < requestedCapacity) {
+            size <<= 1; // a power of two lets positions map to slots with a mask
+        }
+        this.capacity = size;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    //Adds the element, or returns false straight away if the ring is full.
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1); // publish
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // the consumer has not freed this slot yet: full
+            }
+            // another producer claimed this position first; retry with the new tail
+        }
+    }
+
+    //Removes the oldest published element, or returns null when none is ready.
+    public E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, position + capacity); // free the slot for the producer one lap ahead
+        head = position + 1;
+        return element;
+    }
+
+    //Hands up to max published elements to the consumer; returns how many were drained.
+    public int drain(Consumer<? super E> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    //Claimed positions not yet consumed; approximate while producers are active.
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
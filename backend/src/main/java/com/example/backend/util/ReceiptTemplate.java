@@ -0,0 +1,161 @@
+package com.example.backend.util;
+
+import com.example.backend.model.SpecialCollection;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Precompiled text receipt for a special collection.
+//The template is split once into literal byte chunks and field slots, so rendering only copies bytes into a reused per-thread buffer.
+public final class ReceiptTemplate {
+
+    public static final String DEFAULT_TEMPLATE =
+            "EcoWaste Solutions - Receipt\n" +
+            "==============================\n\n" +
+            "Collection ID: {id}\n" +
+            "Category: {category}\n" +
+            "Items: {items}\n" +
+            "Quantity (kg): {quantity}\n" +
+            "Date: {date}\n" +
+            "Time Slot: {timeSlot}\n" +
+            "Pickup: {location}\n" +
+            "Payment Status: {paymentStatus}\n" +
+            "Amount: LKR {amount}\n\n" +
+            "------------------------------\n" +
+            "Thank you for using EcoWaste Solutions.\n";
+
+    //Fields a template may reference, in {name} form.
+    private enum Field {
+        ID("id"), CATEGORY("category"), ITEMS("items"), QUANTITY("quantity"), DATE("date"),
+        TIME_SLOT("timeSlot"), LOCATION("location"), PAYMENT_STATUS("paymentStatus"), AMOUNT("amount");
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        static Field fromPlaceholder(String name) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown receipt field: {" + name + "}");
+        }
+    }
+
+    private static final byte[] NULL_BYTES = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(() -> new Buffer(512));
+
+    private final byte[][] literals; // literals[i] is written before fields[i]; the last literal closes the receipt
+    private final Field[] fields;
+
+    private ReceiptTemplate(byte[][] literals, Field[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+    }
+
+    public static ReceiptTemplate compile(String template) {
+        List<byte[]> literals = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = template.indexOf('{', position);
+            if (open < 0) {
+                break;
+            }
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + open);
+            }
+            literals.add(template.substring(position, open).getBytes(StandardCharsets.UTF_8));
+            fields.add(Field.fromPlaceholder(template.substring(open + 1, close)));
+            position = close + 1;
+        }
+        literals.add(template.substring(position).getBytes(StandardCharsets.UTF_8));
+        return new ReceiptTemplate(literals.toArray(new byte[0][]), fields.toArray(new Field[0]));
+    }
+
+    //Renders the receipt and returns a copy of the bytes.
+    public byte[] render(SpecialCollection collection) {
+        Buffer buffer = fill(collection);
+        return Arrays.copyOf(buffer.bytes, buffer.length);
+    }
+
+    //Renders the receipt straight into the given stream without an intermediate copy.
+    public void renderTo(SpecialCollection collection, OutputStream out) throws IOException {
+        Buffer buffer = fill(collection);
+        out.write(buffer.bytes, 0, buffer.length);
+    }
+
+    private Buffer fill(SpecialCollection collection) {
+        Buffer buffer = BUFFER.get();
+        buffer.length = 0;
+        for (int i = 0; i < fields.length; i++) {
+            buffer.write(literals[i]);
+            writeField(buffer, fields[i], collection);
+        }
+        buffer.write(literals[fields.length]);
+        return buffer;
+    }
+
+    private static void writeField(Buffer buffer, Field field, SpecialCollection collection) {
+        switch (field) {
+            case ID -> buffer.write(collection.getId());
+            case CATEGORY -> buffer.write(collection.getCategory());
+            case ITEMS -> buffer.write(collection.getItems());
+            case QUANTITY -> buffer.write(Integer.toString(collection.getQuantity()));
+            case DATE -> buffer.write(collection.getDate());
+            case TIME_SLOT -> buffer.write(collection.getTimeSlot());
+            case LOCATION -> buffer.write(collection.getLocation());
+            case PAYMENT_STATUS -> buffer.write(collection.getPaymentStatus());
+            case AMOUNT -> buffer.write(BigDecimal.valueOf(collection.getFee()).setScale(2, RoundingMode.HALF_UP).toPlainString());
+        }
+    }
+
+    //Growable byte buffer reused by each rendering thread.
+    private static final class Buffer {
+        private byte[] bytes;
+        private int length;
+
+        Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void write(byte[] src) {
+            ensureCapacity(src.length);
+            System.arraycopy(src, 0, bytes, length, src.length);
+            length += src.length;
+        }
+
+        void write(String value) {
+            if (value == null) {
+                write(NULL_BYTES);
+                return;
+            }
+            int n = value.length();
+            ensureCapacity(n);
+            for (int i = 0; i < n; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) { // non-ASCII: fall back to the charset encoder for the rest of the value
+                    write(value.substring(i).getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                bytes[length++] = (byte) c;
+            }
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -2,8 +2,8 @@ package com.example.backend.util;
 
 import com.example.backend.model.SpecialCollection;
 import com.example.backend.model.User;
-import com.example.backend.repository.UserRepository;
 import com.example.backend.service.EmailService;
+import com.example.backend.service.UserLookupService;
 import org.springframework.stereotype.Component;
 
 //Helper class for SpecialCollection email operations.
@@ -11,16 +11,16 @@ import org.springframework.stereotype.Component;
 public class SpecialCollectionEmailHelper {
     
     private final EmailService emailService;
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     
-    public SpecialCollectionEmailHelper(EmailService emailService, UserRepository userRepository) {
+    public SpecialCollectionEmailHelper(EmailService emailService, UserLookupService userLookupService) {
         this.emailService = emailService;
-        this.userRepository = userRepository;
+        this.userLookupService = userLookupService;
     }
     
     //Sends collection confirmation email.
     public void sendConfirmationEmail(String userId, SpecialCollection collection) {
-        User user = userRepository.findById(userId).orElse(null);
+        User user = userLookupService.findById(userId).orElse(null);
         if (user != null) {
             emailService.sendSpecialCollectionConfirmation(
                 user.getEmail(), 
@@ -35,7 +35,7 @@ public class SpecialCollectionEmailHelper {
     
     //Sends payment notification email.
     public void sendPaymentNotification(String userId, SpecialCollection collection, String method, boolean success) {
-        User user = userRepository.findById(userId).orElse(null);
+        User user = userLookupService.findById(userId).orElse(null);
         if (user != null) {
             emailService.sendPaymentNotification(
                 user.getEmail(), 
@@ -49,7 +49,7 @@ public class SpecialCollectionEmailHelper {
     
     //Sends collection completed notification email.
     public void sendCollectionCompletedNotification(String userId, SpecialCollection collection) {
-        User user = userRepository.findById(userId).orElse(null);
+        User user = userLookupService.findById(userId).orElse(null);
         if (user != null) {
             emailService.sendCollectionCompletedNotification(
                 user.getEmail(), 
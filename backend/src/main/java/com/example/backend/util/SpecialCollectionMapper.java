@@ -70,7 +70,8 @@ public class SpecialCollectionMapper {
         String existingPaymentStatus = collection.getPaymentStatus();
         collection.setDate(date);
         collection.setTimeSlot(normalizeTimeSlot(timeSlot));
-        collection.setStatus(existingStatus);
+        // A missed pickup that is rescheduled is booked again
+        collection.setStatus("Missed".equals(existingStatus) ? "Scheduled" : existingStatus);
         collection.setPaymentStatus(existingPaymentStatus);
     }
     
@@ -4,7 +4,7 @@ import com.example.backend.dto.SpecialCollectionDTOs.ScheduleRequest;
 import com.example.backend.model.SpecialCollection;
 import com.example.backend.model.User;
 import com.example.backend.repository.SpecialCollectionRepository;
-import com.example.backend.repository.UserRepository;
+import com.example.backend.service.UserLookupService;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -15,19 +15,25 @@ import java.time.format.DateTimeParseException;
 @Component
 public class SpecialCollectionValidator {
     
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     private final SpecialCollectionRepository specialCollectionRepository;
     
-    public SpecialCollectionValidator(UserRepository userRepository, 
+    public SpecialCollectionValidator(UserLookupService userLookupService, 
                                     SpecialCollectionRepository specialCollectionRepository) {
-        this.userRepository = userRepository;
+        this.userLookupService = userLookupService;
         this.specialCollectionRepository = specialCollectionRepository;
     }
     
    
      //Validates user eligibility for scheduling collections.
     public void validateUserEligibility(String userId) {
-        User user = userRepository.findById(userId)
+        validateUserStanding(userId);
+        validateNoUnpaidCollections(userId);
+    }
+    
+    //Validates the user exists, is active and has no overdue payments (one user read).
+    public void validateUserStanding(String userId) {
+        User user = userLookupService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         if (!user.isActive()) {
@@ -37,8 +43,10 @@ public class SpecialCollectionValidator {
         if (user.isHasOverduePayments()) {
             throw new RuntimeException("Account has overdue payments");
         }
-        
-        // Check for unpaid collections
+    }
+    
+    //Validates the user has no unpaid special collection (one indexed exists query).
+    public void validateNoUnpaidCollections(String userId) {
         boolean hasUnpaid = specialCollectionRepository.existsByUserIdAndPaymentStatus(userId, "Unpaid");
         if (hasUnpaid) {
             throw new RuntimeException("You have an unpaid special collection. Please complete payment before scheduling a new one.");
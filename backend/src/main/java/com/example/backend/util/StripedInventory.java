@@ -0,0 +1,97 @@
+package com.example.backend.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+//Local stock of one item, spread over striped counters so concurrent takers rarely touch the same cache line.
+//Stock is leased in small blocks from a shared source (the database) and only ever taken by CAS on a counter that is above zero,
+//so the units handed out can never exceed the units leased.
+public final class StripedInventory {
+
+    //Shared stock that local counters lease from.
+    public interface LeaseSource {
+        //Removes up to max units from the shared stock and returns how many were removed (0 when sold out).
+        int lease(int max);
+    }
+
+    private static final int PADDING = 16; // ints per stripe, keeps each counter on its own 64-byte cache line
+
+    private final AtomicIntegerArray counters;
+    private final int stripeMask;
+    private final int leaseSize;
+    private final LeaseSource source;
+    private final Object refillLock = new Object();
+
+    public StripedInventory(int stripes, int leaseSize, LeaseSource source) {
+        if (stripes <= 0 || leaseSize <= 0) {
+            throw new IllegalArgumentException("Stripes and lease size must be greater than 0");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1; // power of two, so a stripe is picked with a mask
+        }
+        this.counters = new AtomicIntegerArray(size * PADDING);
+        this.stripeMask = size - 1;
+        this.leaseSize = leaseSize;
+        this.source = source;
+    }
+
+    //Takes one unit, leasing more from the source when every stripe is empty. False when sold out.
+    public boolean tryAcquire() {
+        int home = ThreadLocalRandom.current().nextInt() & stripeMask;
+        if (takeFromAny(home)) {
+            return true;
+        }
+        // Slow path: one thread leases at a time, the others re-check the stripes it fills
+        synchronized (refillLock) {
+            if (takeFromAny(home)) {
+                return true;
+            }
+            int leased = source.lease(leaseSize);
+            if (leased <= 0) {
+                return false;
+            }
+            if (leased > 1) {
+                counters.addAndGet(home * PADDING, leased - 1); // keep the rest locally, this caller takes one
+            }
+            return true;
+        }
+    }
+
+    //Puts back a unit that was acquired but not used.
+    public void release() {
+        int home = ThreadLocalRandom.current().nextInt() & stripeMask;
+        counters.incrementAndGet(home * PADDING);
+    }
+
+    //Empties every stripe and returns the number of units removed, so unsold leases can go back to the source.
+    public int drain() {
+        int drained = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            drained += counters.getAndSet(stripe * PADDING, 0);
+        }
+        return drained;
+    }
+
+    //Units currently held locally.
+    public int available() {
+        int total = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            total += counters.get(stripe * PADDING);
+        }
+        return total;
+    }
+
+    private boolean takeFromAny(int home) {
+        for (int i = 0; i <= stripeMask; i++) {
+            int index = ((home + i) & stripeMask) * PADDING;
+            int current;
+            while ((current = counters.get(index)) > 0) {
+                if (counters.compareAndSet(index, current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Opaque page cursor for the activity timeline.
+//Holds the last (timestamp, id) returned from each source, or marks the source as exhausted.
+public final class TimelineCursor {
+
+    private static final String EXHAUSTED = "x";
+
+    private final Map<String, Position> positions;
+
+    private TimelineCursor(Map<String, Position> positions) {
+        this.positions = positions;
+    }
+
+    public static TimelineCursor start() {
+        return new TimelineCursor(new LinkedHashMap<>());
+    }
+
+    //Position of a source: null means the source has not been read yet.
+    public Position position(String source) {
+        return positions.get(source);
+    }
+
+    public void advance(String source, Instant timestamp, String id) {
+        positions.put(source, new Position(timestamp, id, false));
+    }
+
+    public void exhaust(String source) {
+        positions.put(source, new Position(null, null, true));
+    }
+
+    public boolean isExhausted(String source) {
+        Position position = positions.get(source);
+        return position != null && position.exhausted;
+    }
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Position> entry : positions.entrySet()) {
+            if (sb.length() > 0) sb.append(',');
+            Position p = entry.getValue();
+            sb.append(entry.getKey()).append('=');
+            if (p.exhausted) {
+                sb.append(EXHAUSTED);
+            } else {
+                sb.append(p.timestamp.toEpochMilli()).append(':').append(p.id);
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TimelineCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return start();
+        }
+        Map<String, Position> positions = new LinkedHashMap<>();
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            for (String part : text.split(",")) {
+                int eq = part.indexOf('=');
+                String source = part.substring(0, eq);
+                String pos = part.substring(eq + 1);
+                if (EXHAUSTED.equals(pos)) {
+                    positions.put(source, new Position(null, null, true));
+                } else {
+                    int colon = pos.indexOf(':');
+                    Instant timestamp = Instant.ofEpochMilli(Long.parseLong(pos.substring(0, colon)));
+                    positions.put(source, new Position(timestamp, pos.substring(colon + 1), false));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor");
+        }
+        return new TimelineCursor(positions);
+    }
+
+    public static final class Position {
+        private final Instant timestamp;
+        private final String id;
+        private final boolean exhausted;
+
+        private Position(Instant timestamp, String id, boolean exhausted) {
+            this.timestamp = timestamp;
+            this.id = id;
+            this.exhausted = exhausted;
+        }
+
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
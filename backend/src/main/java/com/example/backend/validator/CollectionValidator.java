@@ -3,6 +3,13 @@ package com.example.backend.validator;
 import com.example.backend.dto.CollectionRequestDTO;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 /**
  * Service responsible for validating collection data
  * Single Responsibility: Data validation
@@ -10,6 +17,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class CollectionValidator {
     
+    private static final Pattern CLIENT_ID = Pattern.compile("[A-Za-z0-9_-]{8,64}");
+    private static final long CLOCK_SKEW_SECONDS = 300;
+    
     /**
      * Validates collection request data
      */
@@ -43,6 +53,31 @@ public class CollectionValidator {
         return ValidationResult.success();
     }
     
+    /**
+     * Validates a batch of offline-recorded collections in one pass
+     * Besides the usual checks, each record needs a well-formed client ID that is unique within the batch
+     * @return one result per request, in the same order
+     */
+    public List<ValidationResult> validateBatch(List<CollectionRequestDTO> requests) {
+        List<ValidationResult> results = new ArrayList<>(requests.size());
+        Set<String> seenClientIds = new HashSet<>();
+        Instant latestAllowed = Instant.now().plusSeconds(CLOCK_SKEW_SECONDS);
+        for (CollectionRequestDTO request : requests) {
+            ValidationResult result = validate(request);
+            if (result.isValid()) {
+                if (request.getClientId() == null || !CLIENT_ID.matcher(request.getClientId()).matches()) {
+                    result = ValidationResult.error("Client ID must be 8 to 64 letters, digits, '-' or '_'");
+                } else if (!seenClientIds.add(request.getClientId())) {
+                    result = ValidationResult.error("Client ID appears more than once in the batch");
+                } else if (request.getCollectedAt() != null && request.getCollectedAt().isAfter(latestAllowed)) {
+                    result = ValidationResult.error("Collected time is in the future");
+                }
+            }
+            results.add(result);
+        }
+        return results;
+    }
+    
     /**
      * Inner class for validation results
      */
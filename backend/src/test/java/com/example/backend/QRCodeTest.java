@@ -1,18 +1,19 @@
 package com.example.backend;
 
 import com.example.backend.service.QRCodeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.session.allow-random-secret=true")
 public class QRCodeTest {
 
     @Test
     public void testQRCodeGeneration() {
         try {
-            QRCodeService qrService = new QRCodeService();
+            QRCodeService qrService = new QRCodeService(new SimpleMeterRegistry());
 
             // Test basic QR code generation
             String testData = "Test QR Code Data";
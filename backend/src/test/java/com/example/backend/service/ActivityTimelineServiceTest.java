@@ -0,0 +1,93 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.TimelineDTOs.TimelineEntry;
+import com.example.backend.dto.TimelineDTOs.TimelinePage;
+import com.example.backend.util.TimelineCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActivityTimelineServiceTest {
+
+    @Test
+    public void testPagesMergeAllSourcesNewestFirst() {
+        InMemorySource waste = new InMemorySource("w", 100, 70, 40, 10);
+        InMemorySource special = new InMemorySource("s", 90, 80, 30);
+        InMemorySource wallet = new InMemorySource("t", 95, 20);
+        ActivityTimelineService service = new ActivityTimelineService(List.of(waste, special, wallet));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TimelinePage page = service.getTimeline("user-1", cursor, 4);
+            page.entries.forEach(e -> seen.add(e.timestamp.getEpochSecond()));
+            cursor = page.nextCursor;
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertEquals(List.of(100L, 95L, 90L, 80L, 70L, 40L, 30L, 20L, 10L), seen);
+        assertEquals(3, pages);
+        assertTrue(waste.maxRowsPerQuery <= 4);
+    }
+
+    @Test
+    public void testEqualTimestampsAreSplitAcrossPagesById() {
+        InMemorySource waste = new InMemorySource("w", 50, 50, 50, 50, 50);
+        InMemorySource special = new InMemorySource("s", 60, 50, 50);
+        ActivityTimelineService service = new ActivityTimelineService(List.of(waste, special));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TimelinePage page = service.getTimeline("user-1", cursor, 2);
+            page.entries.forEach(e -> seen.add(e.id));
+            cursor = page.nextCursor;
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertEquals(8, seen.size());
+        assertEquals(8, new HashSet<>(seen).size());
+        assertEquals("s-0060-0", seen.get(0));
+    }
+
+    // Source backed by a sorted list, applying the same keyset rule as the Mongo sources
+    private static class InMemorySource implements TimelineSource {
+        private final String key;
+        private final List<TimelineEntry> entries = new ArrayList<>();
+        private int maxRowsPerQuery;
+
+        InMemorySource(String key, long... epochSeconds) {
+            this.key = key;
+            for (int i = 0; i < epochSeconds.length; i++) {
+                long s = epochSeconds[i];
+                entries.add(new TimelineEntry(key, String.format("%s-%04d-%d", key, s, i), Instant.ofEpochSecond(s), "", "", null));
+            }
+            entries.sort(Comparator.comparing((TimelineEntry e) -> e.timestamp).thenComparing(e -> e.id).reversed());
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Stream<TimelineEntry> stream(String userId, TimelineCursor.Position after, int limit, int batchSize) {
+            List<TimelineEntry> rows = entries.stream()
+                    .filter(e -> after == null || e.timestamp.isBefore(after.getTimestamp())
+                            || (e.timestamp.equals(after.getTimestamp()) && e.id.compareTo(after.getId()) < 0))
+                    .limit(limit)
+                    .toList();
+            maxRowsPerQuery = Math.max(maxRowsPerQuery, rows.size());
+            return rows.stream();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountIdCodecTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    @Test
+    public void testIdsRoundTripAndNeverRepeat() {
+        Set<String> seen = new HashSet<>();
+        long[] starts = {0, 1_000_000, AccountIdCodec.MAX_VALUE - 10_000};
+        for (long start : starts) {
+            for (long n = start; n < start + 10_000 && n <= AccountIdCodec.MAX_VALUE; n++) {
+                String id = AccountIdCodec.encode(n);
+                assertEquals(AccountIdCodec.LENGTH, id.length());
+                assertTrue(id.startsWith(AccountIdCodec.PREFIX));
+                assertEquals(n, AccountIdCodec.decode(id));
+                assertTrue(seen.add(id), "duplicate ID " + id);
+            }
+        }
+    }
+
+    @Test
+    public void testEverySingleMistypedSymbolIsDetected() {
+        String id = AccountIdCodec.encode(123_456);
+        for (int i = AccountIdCodec.PREFIX.length(); i < id.length() - 1; i++) {
+            for (char replacement : ALPHABET.toCharArray()) {
+                if (replacement == id.charAt(i)) {
+                    continue;
+                }
+                String typo = id.substring(0, i) + replacement + id.substring(i + 1);
+                assertFalse(AccountIdCodec.isValid(typo), typo + " should fail the check");
+            }
+        }
+    }
+
+    @Test
+    public void testLowerCaseAndLookAlikesAreAccepted() {
+        String id = AccountIdCodec.encode(42);
+        assertTrue(AccountIdCodec.isValid(id.toLowerCase()));
+        String withLookAlikes = id.substring(0, 2) + id.substring(2).replace('0', 'O').replace('1', 'I');
+        assertEquals(42, AccountIdCodec.decode(withLookAlikes));
+    }
+
+    @Test
+    public void testLegacyAndMalformedIdsAreRejected() {
+        assertFalse(AccountIdCodec.isValid("WA1A2B3C4D5E6F")); // legacy UUID-based ID
+        assertFalse(AccountIdCodec.isValid(null));
+        assertFalse(AccountIdCodec.isValid("XX000000000"));
+        assertFalse(AccountIdCodec.isValid("WA0000000U0"));
+        assertThrows(IllegalArgumentException.class, () -> AccountIdCodec.encode(-1));
+        assertThrows(IllegalArgumentException.class, () -> AccountIdCodec.encode(AccountIdCodec.MAX_VALUE + 1));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvWriterTest {
+
+    @Test
+    public void testPlainFieldsAreWrittenAsTheyAre() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).row("id", "status").text("abc").number(2.5).value(Instant.parse("2025-01-02T03:04:05Z")).endRow();
+        assertEquals("id,status\r\nabc,2.5,2025-01-02T03:04:05Z\r\n", out.toString());
+    }
+
+    @Test
+    public void testSeparatorsAndQuotesAreQuoted() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).row("12 Main St, Colombo", "say \"hi\"", "two\nlines");
+        assertEquals("\"12 Main St, Colombo\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n", out.toString());
+    }
+
+    @Test
+    public void testFormulasAreDefusedButNumbersAreNot() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).text("=HYPERLINK(\"x\")").number(-3.0).endRow();
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\",-3.0\r\n", out.toString());
+    }
+
+    @Test
+    public void testMissingValuesAreEmptyFields() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).text(null).number((Number) null).value(null).number(Double.NaN).endRow();
+        assertEquals(",,,\r\n", out.toString());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.util;
+
+import com.example.backend.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FanOutTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testBranchesRunAtTheSameTime() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try (FanOut fanOut = new FanOut(pool, UnaryOperator.identity(), 5_000)) {
+            // Each branch only finishes once the other has started, so a serial run would time out
+            FanOut.Branch<String> a = fanOut.fork("a", () -> { bothStarted.countDown(); bothStarted.await(); return "a"; });
+            FanOut.Branch<String> b = fanOut.fork("b", () -> { bothStarted.countDown(); bothStarted.await(); return "b"; });
+            assertEquals("a", a.join());
+            assertEquals("b", b.join());
+        }
+    }
+
+    @Test
+    public void testLateBranchTimesOutAndIsCancelled() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (FanOut fanOut = new FanOut(pool, UnaryOperator.identity(), 5_000)) {
+            FanOut.Branch<String> slow = fanOut.fork("slow", () -> {
+                try {
+                    Thread.sleep(10_000);
+                    return "too late";
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }, 50);
+            assertThrows(ServiceBusyException.class, slow::join);
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the late branch should be interrupted");
+    }
+
+    @Test
+    public void testFailureIsRethrownAndCancelsTheRest() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (FanOut fanOut = new FanOut(pool, UnaryOperator.identity(), 5_000)) {
+            FanOut.Branch<Void> failing = fanOut.fork("failing", () -> { throw new IllegalArgumentException("bad input"); });
+            FanOut.Branch<Void> other = fanOut.fork("other", () -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, failing::join);
+            assertEquals("bad input", thrown.getMessage());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the sibling should be cancelled");
+            assertThrows(ServiceBusyException.class, other::join);
+        }
+    }
+
+    @Test
+    public void testRejectedBranchRunsOnTheCaller() {
+        Thread caller = Thread.currentThread();
+        try (FanOut fanOut = new FanOut(task -> { throw new RejectedExecutionException(); }, UnaryOperator.identity(), 5_000)) {
+            FanOut.Branch<Thread> branch = fanOut.fork("inline", Thread::currentThread);
+            assertSame(caller, branch.join());
+        }
+    }
+}
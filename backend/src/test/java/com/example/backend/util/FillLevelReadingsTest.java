@@ -0,0 +1,32 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FillLevelReadingsTest {
+
+    @Test
+    public void testPackRoundTripsAtTheEdgesOfTheDay() {
+        int[][] cases = {{0, 0}, {0, FillLevelReadings.MAX_LEVEL}, {86_399, 0}, {86_399, FillLevelReadings.MAX_LEVEL}, {43_210, 5_125}};
+        for (int[] c : cases) {
+            int packed = FillLevelReadings.pack(c[0], c[1]);
+            assertTrue(packed >= 0, "packed readings must stay non-negative");
+            assertEquals(c[0], FillLevelReadings.secondOfDay(packed));
+            assertEquals(c[1], FillLevelReadings.level(packed));
+        }
+    }
+
+    @Test
+    public void testPercentagesAreRoundedAndClamped() {
+        assertEquals(5_013, FillLevelReadings.toHundredths(50.125));
+        assertEquals(0, FillLevelReadings.toHundredths(-3.0));
+        assertEquals(FillLevelReadings.MAX_LEVEL, FillLevelReadings.toHundredths(120.0));
+    }
+
+    @Test
+    public void testOutOfRangeValuesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FillLevelReadings.pack(86_400, 0));
+        assertThrows(IllegalArgumentException.class, () -> FillLevelReadings.pack(0, FillLevelReadings.MAX_LEVEL + 1));
+    }
+}
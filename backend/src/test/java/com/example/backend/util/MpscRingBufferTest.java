@@ -0,0 +1,67 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void testFullRingRefusesInsteadOfBlocking() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(3); // rounded up to 4
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4)); // the freed slot is reused on the next lap
+        assertEquals(4, ring.size());
+    }
+
+    @Test
+    public void testEveryAcceptedElementIsConsumedOnceInProducerOrder() throws Exception {
+        int producers = 8;
+        int perProducer = 20_000;
+        MpscRingBuffer<long[]> ring = new MpscRingBuffer<>(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!ring.offer(element)) {
+                        Thread.onSpinWait(); // full: wait for the consumer, as a sensor client would retry
+                    }
+                }
+                return null;
+            });
+        }
+
+        int[] next = new int[producers];
+        AtomicInteger consumed = new AtomicInteger();
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (consumed.get() < producers * perProducer && System.nanoTime() < deadline) {
+            ring.drain(element -> {
+                int producer = (int) element[0];
+                assertEquals(next[producer], element[1], "elements of one producer must arrive in order, once");
+                next[producer]++;
+                consumed.incrementAndGet();
+            }, 4096);
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(producers * perProducer, consumed.get());
+        assertNull(ring.poll());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.util;
+
+import com.example.backend.model.SpecialCollection;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReceiptTemplateTest {
+
+    @Test
+    public void testRendersSameTextAsLegacyReceipt() {
+        SpecialCollection sc = new SpecialCollection();
+        sc.setId("652f1c2e9b1e8a3d4c5f6a7b");
+        sc.setCategory("E-Waste");
+        sc.setItems("Old laptop, monitor");
+        sc.setQuantity(12);
+        sc.setDate("2025-10-21");
+        sc.setTimeSlot("Morning");
+        sc.setLocation("12 Galle Road, Colombo");
+        sc.setPaymentStatus("Paid");
+        sc.setFee(1560.5);
+
+        StringBuilder expected = new StringBuilder();
+        expected.append("EcoWaste Solutions - Receipt\n");
+        expected.append("==============================\n\n");
+        expected.append("Collection ID: ").append(sc.getId()).append("\n");
+        expected.append("Category: ").append(sc.getCategory()).append("\n");
+        expected.append("Items: ").append(sc.getItems()).append("\n");
+        expected.append("Quantity (kg): ").append(sc.getQuantity()).append("\n");
+        expected.append("Date: ").append(sc.getDate()).append("\n");
+        expected.append("Time Slot: ").append(sc.getTimeSlot()).append("\n");
+        expected.append("Pickup: ").append(sc.getLocation()).append("\n");
+        expected.append("Payment Status: ").append(sc.getPaymentStatus()).append("\n");
+        expected.append(String.format("Amount: LKR %.2f\n\n", sc.getFee()));
+        expected.append("------------------------------\n");
+        expected.append("Thank you for using EcoWaste Solutions.\n");
+
+        ReceiptTemplate template = ReceiptTemplate.compile(ReceiptTemplate.DEFAULT_TEMPLATE);
+        assertEquals(expected.toString(), new String(template.render(sc), StandardCharsets.UTF_8));
+
+        sc.setLocation("Kandy Road, Kadawatha - ශ්‍රී ලංකා");
+        sc.setItems(null);
+        String rendered = new String(template.render(sc), StandardCharsets.UTF_8);
+        assertTrue(rendered.contains("Pickup: Kandy Road, Kadawatha - ශ්‍රී ලංකා\n"));
+        assertTrue(rendered.contains("Items: null\n"));
+    }
+
+    @Test
+    public void testRejectsUnknownPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> ReceiptTemplate.compile("Owner: {owner}"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedInventoryTest {
+
+    @Test
+    public void testConcurrentTakersNeverOversell() throws Exception {
+        int stock = 1_000;
+        AtomicInteger stored = new AtomicInteger(stock); // stands in for the conditional $inc on the reward document
+        StripedInventory inventory = new StripedInventory(8, 7, max -> {
+            while (true) {
+                int current = stored.get();
+                if (current <= 0) return 0;
+                int take = Math.min(max, current);
+                if (stored.compareAndSet(current, current - take)) return take;
+            }
+        });
+
+        int threads = 16;
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (inventory.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(stock, acquired.get());
+        assertEquals(0, stored.get());
+        assertEquals(0, inventory.available());
+        assertFalse(inventory.tryAcquire());
+    }
+
+    @Test
+    public void testReleasedAndDrainedUnitsAreAccounted() {
+        AtomicInteger stored = new AtomicInteger(10);
+        StripedInventory inventory = new StripedInventory(4, 5, max -> {
+            int take = Math.min(max, stored.get());
+            stored.addAndGet(-take);
+            return take;
+        });
+
+        assertTrue(inventory.tryAcquire()); // leases 5, keeps 4 locally
+        assertEquals(5, stored.get());
+        assertEquals(4, inventory.available());
+
+        inventory.release();
+        assertEquals(5, inventory.available());
+        assertEquals(5, inventory.drain());
+        assertEquals(0, inventory.available());
+    }
+}
@@ -112,11 +112,10 @@ export default function RegisterStep3() {
   };
 
   const downloadQRCode = () => {
-    if (wasteAccount?.qrCode) {
-      const link = document.createElement('a');
-      link.href = `data:image/png;base64,${wasteAccount.qrCode}`;
-      link.download = `waste-account-qr-${wasteAccount.accountId}.png`;
-      link.click();
+    if (wasteAccount?.accountId) {
+      api.downloadWasteAccountQr(wasteAccount.accountId).catch((err) => {
+        console.error("QR code download error:", err);
+      });
     }
   };
 
@@ -159,7 +158,7 @@ export default function RegisterStep3() {
                 <h3 className="text-lg font-semibold text-gray-800 mb-3">Your QR Code</h3>
                 <div className="bg-white p-4 rounded-lg shadow-sm border inline-block">
                   <img 
-                    src={`data:image/png;base64,${wasteAccount.qrCode}`} 
+                    src={api.getWasteAccountQrUrl(wasteAccount.accountId)} 
                     alt="Waste Account QR Code"
                     className="w-48 h-48 mx-auto"
                   />
@@ -1080,11 +1080,11 @@ export default function UserProfile() {
                       <div className="text-center">
                         <p className="text-gray-600 text-sm mb-4">Scan this QR code to access your waste account</p>
                         
-                        {wasteAccount.qrCode ? (
+                        {wasteAccount.accountId ? (
                           <div className="flex justify-center mb-6">
                             <div className="bg-white p-4 rounded-lg shadow-sm border">
                               <img 
-                                src={`data:image/png;base64,${wasteAccount.qrCode}`} 
+                                src={api.getWasteAccountQrUrl(wasteAccount.accountId)} 
                                 alt="Waste Account QR Code"
                                 className="w-48 h-48 mx-auto"
                               />
@@ -1103,14 +1103,13 @@ export default function UserProfile() {
                         
                         <button
                           onClick={() => {
-                            if (wasteAccount.qrCode) {
-                              const link = document.createElement('a');
-                              link.href = `data:image/png;base64,${wasteAccount.qrCode}`;
-                              link.download = `waste-account-qr-${wasteAccount.accountId}.png`;
-                              link.click();
+                            if (wasteAccount.accountId) {
+                              api.downloadWasteAccountQr(wasteAccount.accountId).catch((err) => {
+                                console.error('QR code download error:', err);
+                              });
                             }
                           }}
-                          disabled={!wasteAccount.qrCode}
+                          disabled={!wasteAccount.accountId}
                           className="bg-blue-500 text-white px-6 py-2 rounded-lg hover:bg-blue-600 disabled:opacity-50 disabled:cursor-not-allowed transition-colors text-sm flex items-center gap-2 mx-auto"
                         >
                           <svg className="w-4 h-4" fill="none" stroke="currentColor" viewBox="0 0 24 24">
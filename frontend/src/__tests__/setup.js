@@ -43,6 +43,8 @@ vi.mock('../api/auth', () => ({
     registerStep1: vi.fn(),
     registerStep2: vi.fn(),
     registerStep3: vi.fn(),
+    getWasteAccountQrUrl: vi.fn(),
+    downloadWasteAccountQr: vi.fn(),
     verifyEmail: vi.fn(),
     sendVerificationCode: vi.fn(),
     updateProfile: vi.fn(),
@@ -63,6 +63,22 @@ const api = {
     return res.data;
   },
 
+  // Waste account QR image, rendered by the backend when first requested
+  getWasteAccountQrUrl: (accountId) => `${API_URL}/waste-accounts/${encodeURIComponent(accountId)}/qr`,
+
+  downloadWasteAccountQr: async (accountId) => {
+    const res = await axios.get(`${API_URL}/waste-accounts/${encodeURIComponent(accountId)}/qr`, {
+      withCredentials: true,
+      responseType: 'blob'
+    });
+    const url = URL.createObjectURL(res.data);
+    const link = document.createElement('a');
+    link.href = url;
+    link.download = `waste-account-qr-${accountId}.png`;
+    link.click();
+    URL.revokeObjectURL(url);
+  },
+
   login: async (data) => {
     const res = await axios.post(`${API_URL}/login`, data, { 
       withCredentials: true,
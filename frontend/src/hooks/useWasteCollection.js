@@ -105,6 +105,27 @@ export const useWasteCollection = () => {
     fetchWasteLocations();
   }, []);
 
+  // Full-bin alerts are pushed by the backend, so capacities stay current without refetching every account
+  useEffect(() => {
+    if (typeof EventSource === 'undefined') return undefined;
+    const source = new EventSource('http://localhost:8081/api/bins/alerts/stream', { withCredentials: true });
+
+    const applyAlert = (alert, full) => {
+      setMarkers(prev => Array.isArray(prev) ? prev.map(m => String(m.pointId) === String(alert.accountId)
+        ? { ...m, capacity: alert.capacity ?? m.capacity, full }
+        : m) : prev);
+    };
+
+    source.addEventListener('snapshot', (e) => {
+      JSON.parse(e.data).forEach(alert => applyAlert(alert, true));
+    });
+    source.addEventListener('bin-full', (e) => applyAlert(JSON.parse(e.data), true));
+    source.addEventListener('bin-cleared', (e) => applyAlert(JSON.parse(e.data), false));
+    source.onerror = () => console.warn('Bin alert stream interrupted, the browser will reconnect');
+
+    return () => source.close();
+  }, []);
+
   return {
     markers,
     stats,